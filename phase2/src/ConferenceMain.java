@@ -1,36 +1,64 @@
+import conferencesim.controllers.BatchRunner;
 import conferencesim.controllers.CommandHelper;
 import conferencesim.controllers.LoginController;
 import conferencesim.controllers.RegisterController;
 import conferencesim.controllers.cli.*;
+import conferencesim.exceptions.DoesNotMatchException;
+import conferencesim.exceptions.UnreadableSaveFileException;
+import conferencesim.exceptions.UserNotFoundException;
 import conferencesim.gateways.*;
 import conferencesim.usecases.*;
 import conferencesim.view.ErrorView;
 import conferencesim.view.MainView;
 import conferencesim.view.RegisterView;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 public class ConferenceMain {
 	
 	public static void main(String[] args) {
-		MessageGateway mbd = new MessageGateway();
-		EventGateway eg = new EventGateway();
-		UserGateway ug = new UserGateway();
-		RoomGateway rg = new RoomGateway();
-		RequestGateway rqg = new RequestGateway();
-
-
 		Scanner sc = new Scanner(System.in);
 
-		UserManager um = ug.loadFile();
-		EventManager em = eg.loadFile();
-		RoomManager rm = rg.loadFile();
-		Messenger m = mbd.loadFile();
-		UserRequestsHelper urh = rqg.loadFile();
-		rm.setRoomUpdater(em);
+		StartupLoader loader = new StartupLoader();
+		try {
+			loader.load();
+		} catch (UnreadableSaveFileException exc) {
+			// nothing has been saved or journaled yet, so stopping here leaves every file as it was
+			System.out.println(exc.getMessage());
+			System.exit(1);
+		}
+		System.out.println(loader.getTimings());
+		UserManager um = loader.getUserManager();
+		EventManager em = loader.getEventManager();
+		RoomManager rm = loader.getRoomManager();
+		Messenger m = loader.getMessenger();
+		UserRequestsHelper urh = loader.getRequestHelper();
 
-		EventStats es = new EventStats(em.getEventList());
-		UserStats us = new UserStats(um.getUserList());
+		WriteAheadLog wal = new WriteAheadLog(new File("."), Integer.getInteger("journal.groupCommit", 16),
+				Integer.getInteger("journal.checkpointBytes", 1 << 20));
+		for (ManagerType type : ManagerType.values()) {
+			wal.register(type, loader.getGateway(type), loader.getManager(type));
+		}
+		boolean journaling = true;
+		try {
+			wal.recover();
+			if (wal.getRecordsReplayed() > 0) {
+				System.out.printf("Recovered %d unsaved changes in %.1f ms%n", wal.getRecordsReplayed(), wal.getRecoveryMillis());
+			}
+		} catch (IOException io) {
+			io.printStackTrace();
+			journaling = false;
+		}
+
+		EventStats es = new EventStats(em);
+		UserStats us = new UserStats(um);
+		FriendGraph fg = new FriendGraph(um, em);
 
 		ErrorView ev = new ErrorView();
 
@@ -44,6 +72,11 @@ public class ConferenceMain {
 
 
 		boolean mainRun = true;
+		// java ConferenceMain batch <userID> <password> <commandFile> runs the file and quits
+		if (args.length == 4 && args[0].equalsIgnoreCase("batch")) {
+			runBatch(args[1], args[2], args[3], um, em, rm, m, urh, es, us, fg, mv, ev);
+			mainRun = false;
+		}
 		while (mainRun) {
 			while (!logc.isLoggedIn()) {
 				mv.displayStartMenu();
@@ -64,7 +97,7 @@ public class ConferenceMain {
 			}
 
 			if (logc.isLoggedIn()) {
-				CommandHelper ch = constructCommandHelper(um, em, rm, m, urh, es, us);
+				CommandHelper ch = constructCommandHelper(um, em, rm, m, urh, es, us, fg);
 				mv.setCh_inst(ch);
 				ch.setViewBindings(mv, ev);
 				System.out.println("Welcome! Type 'help' for a list of commands or information about a single command, type 'quit' to quit.");
@@ -84,24 +117,59 @@ public class ConferenceMain {
 			}
 		}
 
-		eg.saveFile(ManagerType.EVENTMANAGER, new Object[]{em});
-		mbd.saveFile(ManagerType.MESSENGER, new Object[]{m});
-		rg.saveFile(ManagerType.ROOMMANAGER, new Object[]{rm});
-		ug.saveFile(ManagerType.USERMANAGER, new Object[]{um});
-		rqg.saveFile(ManagerType.REQUESTHELPER, new Object[]{urh});
+		if (journaling) {
+			try {
+				wal.close();
+				System.out.printf("Journal: %d commits, write amplification %.1fx%n", wal.getCommits(), wal.getWriteAmplification());
+			} catch (IOException io) {
+				io.printStackTrace();
+				journaling = false;
+			}
+		}
+		if (!journaling) {
+			for (ManagerType type : ManagerType.values()) {
+				loader.getGateway(type).saveFile(type, new Object[]{loader.getManager(type)});
+			}
+		}
 		System.exit(0);
 	}
 	
+	static void runBatch(String userID, String password, String path, UserManager um, EventManager em,
+						 RoomManager rm, Messenger m, UserRequestsHelper urh, EventStats es, UserStats us,
+						 FriendGraph fg, MainView mv, ErrorView ev) {
+		try {
+			um.loginUser(userID, password);
+		} catch (UserNotFoundException | DoesNotMatchException exc) {
+			System.out.println("Batch login failed for " + userID);
+			return;
+		}
+		if (!um.getCurrUserLoggedIn()) {
+			return;
+		}
+		CommandHelper ch = constructCommandHelper(um, em, rm, m, urh, es, us, fg);
+		mv.setCh_inst(ch);
+		ch.setViewBindings(mv, ev);
+		BatchRunner runner = new BatchRunner(ch, mv, ev, System.out);
+		try (BufferedReader in = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+			runner.run(in);
+		} catch (IOException io) {
+			System.out.println("Could not read " + path + ": " + io.getMessage());
+		}
+		System.out.println(runner.getSummary());
+		um.logoutUser(um.getCurrUser());
+	}
+
 	static CommandHelper constructCommandHelper(UserManager um, EventManager em, RoomManager rm, Messenger m,
-												UserRequestsHelper urh, EventStats es, UserStats us) {
+												UserRequestsHelper urh, EventStats es, UserStats us,
+												FriendGraph fg) {
 		EventController ec = new EventController(um, em, rm, es);
 		MessageController mc = new MessageController(um, em, m);
 		RoomController rc = new RoomController(rm);
-		UserController uc = new UserController(um, us);
+		UserController uc = new UserController(um, us, fg);
 		RequestController rqc = new RequestController(urh);
 
 		
-		CommandHelper ch = new CommandHelper(um.getCurrUserPerms());
+		CommandHelper ch = new CommandHelper(um.getCurrSession());
 		ch.registerControllers(ec, mc, rc, uc, rqc);
 		
 		return ch;
@@ -0,0 +1,84 @@
+package conferencesim.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import conferencesim.controllers.CommandHelper;
+import conferencesim.controllers.LoginController;
+import conferencesim.controllers.cli.RoomController;
+import conferencesim.usecases.RoomManager;
+import conferencesim.usecases.UserManager;
+import conferencesim.view.ErrorView;
+import conferencesim.view.MainView;
+
+/**
+ * Times CommandHelper.parseCommand plus executeCommand against looking the controller method up by reflection on
+ * every call, which is what the dispatch table replaced.
+ *
+ * Usage: DispatchBench [commands]
+ */
+public class DispatchBench {
+
+    public static void main(String[] args) throws Throwable {
+        int commands = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+
+        // the commands print, which would swamp what is being timed
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        RoomManager rm = new RoomManager();
+        RoomController rc = new RoomController(rm);
+        CommandHelper ch = new CommandHelper(Arrays.asList("addRoom <roomName> <capacity> <type>",
+                "viewRoomTechnologies <roomName>", "viewAllRooms"));
+        ch.registerControllers(rc);
+        ch.setViewBindings(new MainView(new LoginController(new UserManager())), new ErrorView());
+        for (int i = 0; i < 20; i++) {
+            ch.parseCommand("addRoom Hall" + i + " " + (10 + i) + " Auditorium");
+            ch.executeCommand();
+        }
+
+        String line = "viewRoomTechnologies Hall7";
+        long table = 0;
+        long reflection = 0;
+        // a round to warm up, then a timed one
+        for (int round = 0; round < 2; round++) {
+            long t = System.nanoTime();
+            for (int i = 0; i < commands; i++) {
+                ch.parseCommand(line);
+                ch.executeCommand();
+            }
+            table = System.nanoTime() - t;
+
+            t = System.nanoTime();
+            for (int i = 0; i < commands; i++) {
+                reflect(rc, line);
+            }
+            reflection = System.nanoTime() - t;
+        }
+
+        System.setOut(out);
+        System.out.println(commands + " x \"" + line + "\"");
+        System.out.println("dispatch table: " + (table / commands) + " ns/command");
+        System.out.println("reflection:     " + (reflection / commands) + " ns/command");
+    }
+
+    /**
+     * Finds the method named by the first word of line among the controller's public methods and calls it with the
+     * rest of the line, each call starting from scratch.
+     */
+    private static void reflect(Object controller, String line) throws Exception {
+        List<String> words = Arrays.asList(line.split(" "));
+        String name = words.get(0);
+        Object[] callArgs = words.subList(1, words.size()).toArray();
+        for (Method m : controller.getClass().getMethods()) {
+            if (m.getName().equalsIgnoreCase(name) && m.getParameterCount() == callArgs.length
+                    && Arrays.stream(m.getParameterTypes()).allMatch(p -> p == String.class)) {
+                m.invoke(controller, callArgs);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package conferencesim.bench;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import conferencesim.entities.eventpack.Event;
+import conferencesim.entities.eventpack.EventBuilder;
+import conferencesim.usecases.EventManager;
+
+/**
+ * Times EventManager.getEventByID and eventExists against the linear scan over getEventList() they replace.
+ *
+ * Usage: EventLookupBench [events] [lookups]
+ */
+public class EventLookupBench {
+
+    public static void main(String[] args) {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+
+        List<Event> eventList = new ArrayList<>(events);
+        LocalDateTime start = LocalDateTime.of(2021, 1, 1, 9, 0);
+        for (int i = 0; i < events; i++) {
+            eventList.add(new EventBuilder().setEventID("E" + i)
+                    .setLocation("R" + (i % 100))
+                    .setOrganizer("org")
+                    .setTime(start.plusHours(i), start.plusHours(i + 1))
+                    .setSpeaker("sp" + (i % 1000))
+                    .build());
+        }
+        EventManager em = new EventManager(eventList);
+
+        Random random = new Random(42);
+        String[] keys = new String[lookups];
+        for (int i = 0; i < lookups; i++) {
+            keys[i] = "E" + random.nextInt(events);
+        }
+
+        // warm up both paths before timing them
+        int found = 0;
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < Math.min(lookups, 10000); i++) {
+                found += em.getEventByID(keys[i]) != null ? 1 : 0;
+                found += scan(em.getEventList(), keys[i]) != null ? 1 : 0;
+            }
+        }
+
+        long t = System.nanoTime();
+        for (String key : keys) {
+            found += em.getEventByID(key) != null ? 1 : 0;
+        }
+        long byID = System.nanoTime() - t;
+
+        t = System.nanoTime();
+        for (String key : keys) {
+            found += em.eventExists(key) ? 1 : 0;
+        }
+        long exists = System.nanoTime() - t;
+
+        // the scan is a lot slower, so time fewer of them
+        int scans = Math.max(1, Math.min(lookups, 1000000 / Math.max(1, events / 100)));
+        t = System.nanoTime();
+        for (int i = 0; i < scans; i++) {
+            found += scan(em.getEventList(), keys[i]) != null ? 1 : 0;
+        }
+        long scanned = System.nanoTime() - t;
+
+        System.out.println(events + " events, " + found + " hits");
+        System.out.println("getEventByID: " + (byID / lookups) + " ns/lookup");
+        System.out.println("eventExists:  " + (exists / lookups) + " ns/lookup");
+        System.out.println("linear scan:  " + (scanned / scans) + " ns/lookup");
+    }
+
+    private static Event scan(List<Event> eventList, String eventID) {
+        for (Event e : eventList) {
+            if (e.getEventID().equals(eventID)) {
+                return e;
+            }
+        }
+        return null;
+    }
+}
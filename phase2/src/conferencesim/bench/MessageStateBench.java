@@ -0,0 +1,75 @@
+package conferencesim.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Random;
+
+import conferencesim.controllers.LoginController;
+import conferencesim.entities.Message;
+import conferencesim.usecases.Messenger;
+import conferencesim.usecases.UserManager;
+import conferencesim.view.ErrorView;
+import conferencesim.view.MainView;
+
+/**
+ * Fills a Messenger with messages and times moving single messages between inbox, archive and trash.
+ *
+ * Usage: MessageStateBench [messages] [receivers] [moves]
+ */
+public class MessageStateBench {
+
+    public static void main(String[] args) {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int receivers = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int moves = args.length > 2 ? Integer.parseInt(args[2]) : 200000;
+
+        // every operation prints a line, which would swamp what is being timed
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        Messenger m = new Messenger();
+        m.setViewCaller(new MainView(new LoginController(new UserManager())));
+        m.seteViewCaller(new ErrorView());
+
+        long t = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            m.makeMessage("bench", "u" + (i % receivers), "message " + i);
+        }
+        long sent = System.nanoTime() - t;
+
+        List<Message> all = m.getMessageBySender("bench");
+        Random random = new Random(42);
+        Message[] picked = new Message[moves];
+        for (int i = 0; i < moves; i++) {
+            picked[i] = all.get(random.nextInt(all.size()));
+        }
+
+        t = System.nanoTime();
+        for (Message msg : picked) {
+            m.archiveMessage(msg);
+            m.unarchiveMessage(msg);
+        }
+        long archived = System.nanoTime() - t;
+
+        t = System.nanoTime();
+        for (Message msg : picked) {
+            m.deleteMessage(msg);
+            m.retrieveDeletedMessage(msg);
+        }
+        long trashed = System.nanoTime() - t;
+
+        t = System.nanoTime();
+        for (Message msg : picked) {
+            m.getMessageByID(msg.getReceiverUserID(), msg.getMessageID());
+        }
+        long found = System.nanoTime() - t;
+
+        System.setOut(out);
+        System.out.println(all.size() + " messages to " + receivers + " users");
+        System.out.println("send:              " + (sent / messages) + " ns/message");
+        System.out.println("archive+unarchive: " + (archived / moves) + " ns/pair");
+        System.out.println("trash+restore:     " + (trashed / moves) + " ns/pair");
+        System.out.println("getMessageByID:    " + (found / moves) + " ns/lookup");
+    }
+}
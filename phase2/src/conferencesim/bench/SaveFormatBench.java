@@ -0,0 +1,119 @@
+package conferencesim.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import conferencesim.controllers.LoginController;
+import conferencesim.entities.eventpack.Event;
+import conferencesim.entities.eventpack.EventBuilder;
+import conferencesim.gateways.BinaryCodec;
+import conferencesim.gateways.BinaryReader;
+import conferencesim.gateways.BinaryWriter;
+import conferencesim.gateways.ManagerType;
+import conferencesim.usecases.EventManager;
+import conferencesim.usecases.Messenger;
+import conferencesim.usecases.UserManager;
+import conferencesim.view.MainView;
+
+/**
+ * Compares the binary save format with the Java serialization it replaced: file size and time to save and load an
+ * EventManager and a Messenger.
+ *
+ * Usage: SaveFormatBench [events] [attendeesPerEvent] [messages]
+ */
+public class SaveFormatBench {
+
+    public static void main(String[] args) throws Exception {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int attendees = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int messages = args.length > 2 ? Integer.parseInt(args[2]) : 200000;
+
+        List<Event> eventList = new ArrayList<>(events);
+        LocalDateTime start = LocalDateTime.of(2021, 1, 1, 9, 0);
+        for (int i = 0; i < events; i++) {
+            Event e = new EventBuilder().setEventID("E" + i)
+                    .setLocation("R" + (i % 100))
+                    .setOrganizer("org" + (i % 10))
+                    .setTime(start.plusHours(i), start.plusHours(i + 1))
+                    .setSpeaker("sp" + (i % 1000))
+                    .build();
+            for (int a = 0; a < attendees; a++) {
+                e.addAttendee("u" + ((i * 7 + a) % 5000));
+            }
+            eventList.add(e);
+        }
+        EventManager em = new EventManager(eventList);
+
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        Messenger m = new Messenger();
+        m.setViewCaller(new MainView(new LoginController(new UserManager())));
+        for (int i = 0; i < messages; i++) {
+            m.makeMessage("u" + (i % 5000), "u" + ((i * 31) % 5000), "message number " + i);
+        }
+        System.setOut(out);
+
+        run("EventManager", ManagerType.EVENTMANAGER, em);
+        run("Messenger", ManagerType.MESSENGER, m);
+    }
+
+    private static void run(String name, ManagerType type, Object manager) throws Exception {
+        byte[] binary = null;
+        byte[] serialized = null;
+        long encode = Long.MAX_VALUE;
+        long decode = Long.MAX_VALUE;
+        long write = Long.MAX_VALUE;
+        long read = Long.MAX_VALUE;
+        // best of five, the first rounds mostly warm up
+        for (int round = 0; round < 5; round++) {
+            long t = System.nanoTime();
+            binary = encode(type, manager);
+            encode = Math.min(encode, System.nanoTime() - t);
+
+            t = System.nanoTime();
+            try (BinaryReader r = new BinaryReader(new ByteArrayInputStream(binary))) {
+                BinaryCodec.decode(r);
+            }
+            decode = Math.min(decode, System.nanoTime() - t);
+
+            t = System.nanoTime();
+            serialized = serialize(manager);
+            write = Math.min(write, System.nanoTime() - t);
+
+            t = System.nanoTime();
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+                in.readObject();
+            }
+            read = Math.min(read, System.nanoTime() - t);
+        }
+        System.out.println(name + ":");
+        System.out.printf("  binary:        %,d bytes, save %.1f ms, load %.1f ms%n", binary.length, encode / 1e6,
+                decode / 1e6);
+        System.out.printf("  serialization: %,d bytes, save %.1f ms, load %.1f ms%n", serialized.length, write / 1e6,
+                read / 1e6);
+    }
+
+    private static byte[] encode(ManagerType type, Object manager) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BinaryWriter w = new BinaryWriter(bytes)) {
+            BinaryCodec.encode(type, manager, w);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] serialize(Object manager) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(manager);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,195 @@
+package conferencesim.bench;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import conferencesim.entities.eventpack.Event;
+import conferencesim.entities.eventpack.EventBuilder;
+import conferencesim.entities.eventpack.roomBuilder;
+import conferencesim.usecases.EventManager;
+
+/**
+ * Stress test and throughput benchmark for EventManager.signUp and cancelSignUp.
+ *
+ * The stress test has every thread sign random users up for, and off, a handful of small events at once, then
+ * checks that no event went over capacity, that each event's attendees match the sign ups and cancellations that
+ * succeeded, and that every user's event index matches the events listing them. It exits with status 1 if a check
+ * fails.
+ *
+ * The benchmark times sign up and cancel pairs spread over many events, first from one thread, then from all of
+ * them, then from all of them behind one shared lock, which is what a single lock for every event would cost.
+ *
+ * Usage: SignUpBench [threads] [operations per thread]
+ */
+public class SignUpBench {
+
+    private static final LocalDateTime START = LocalDateTime.of(2021, 1, 1, 9, 0);
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+
+        boolean ok = stress(threads, operations, 4, 10, 50);
+        ok &= stress(threads, operations, 100, 25, 1000);
+        System.out.println(ok ? "stress: ok" : "stress: FAILED");
+
+        // warm up, then time
+        throughput(1, operations, null);
+        long single = throughput(1, operations, null);
+        long striped = throughput(threads, operations, null);
+        long global = throughput(threads, operations, new Object());
+        System.out.printf("1 thread:                  %,.0f ops/s%n", operations / (single / 1e9));
+        System.out.printf("%d threads, event locks:   %,.0f ops/s%n", threads,
+                (double) threads * operations / (striped / 1e9));
+        System.out.printf("%d threads, one lock:      %,.0f ops/s%n", threads,
+                (double) threads * operations / (global / 1e9));
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return an EventManager with events E0..E(events-1), each in its own room of capacity seats
+     */
+    private static EventManager newEventManager(int events, int capacity) {
+        List<Event> eventList = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            eventList.add(new EventBuilder().setEventID("E" + i)
+                    .setLocation("R" + i)
+                    .setOrganizer("org")
+                    .setTime(START.plusHours(i), START.plusHours(i + 1))
+                    .setSpeaker("sp" + i)
+                    .build());
+        }
+        EventManager em = new EventManager(eventList);
+        for (int i = 0; i < events; i++) {
+            em.updateRoom(new roomBuilder().setCapacity(capacity).setRoomName("R" + i).setRoomKind("Court")
+                    .buildRoom());
+        }
+        return em;
+    }
+
+    private static boolean stress(int threads, int operations, int events, int capacity, int users)
+            throws Exception {
+        EventManager em = newEventManager(events, capacity);
+        List<Event> eventList = new ArrayList<>(em.getEventList());
+        // per event: successful sign ups minus successful cancellations, across every thread
+        AtomicInteger[] net = new AtomicInteger[events];
+        for (int i = 0; i < events; i++) {
+            net[i] = new AtomicInteger();
+        }
+        AtomicInteger overbooked = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> done = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            done.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                for (int k = 0; k < operations; k++) {
+                    int e = random.nextInt(events);
+                    String userID = "u" + random.nextInt(users);
+                    if (random.nextBoolean()) {
+                        if (em.signUp(userID, "E" + e)) {
+                            net[e].incrementAndGet();
+                            Event event = eventList.get(e);
+                            synchronized (event) {
+                                if (event.getEventOccupancy() > capacity) {
+                                    overbooked.incrementAndGet();
+                                }
+                            }
+                        }
+                    } else if (em.cancelSignUp(userID, "E" + e)) {
+                        net[e].decrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : done) {
+            f.get();
+        }
+        pool.shutdown();
+
+        boolean ok = overbooked.get() == 0;
+        if (!ok) {
+            System.out.println(overbooked.get() + " sign ups saw their event over capacity");
+        }
+        for (int i = 0; i < events; i++) {
+            List<String> attendees = new ArrayList<>(eventList.get(i).getAttendees());
+            if (attendees.size() > capacity || attendees.size() != net[i].get()
+                    || new HashSet<>(attendees).size() != attendees.size()) {
+                System.out.println("E" + i + ": " + attendees.size() + " attendees, " + net[i].get()
+                        + " net sign ups, capacity " + capacity);
+                ok = false;
+            }
+        }
+        for (int u = 0; u < users; u++) {
+            String userID = "u" + u;
+            Set<String> listed = new HashSet<>();
+            for (Event e : eventList) {
+                if (e.getAttendees().contains(userID)) {
+                    listed.add(e.getEventID());
+                }
+            }
+            Set<String> indexed = new HashSet<>();
+            for (Event e : em.getEventsByAttendee(userID)) {
+                indexed.add(e.getEventID());
+            }
+            if (!listed.equals(indexed)) {
+                System.out.println(userID + ": attending " + listed + " but indexed under " + indexed);
+                ok = false;
+            }
+        }
+        System.out.println(threads + " threads x " + operations + " operations over " + events + " events of "
+                + capacity + " seats: " + (ok ? "ok" : "FAILED"));
+        return ok;
+    }
+
+    /**
+     * @param lock taken around every call if not null
+     * @return nanoseconds for every thread to do operations sign up and cancel calls
+     */
+    private static long throughput(int threads, int operations, Object lock) throws Exception {
+        int events = 10000;
+        EventManager em = newEventManager(events, 1000);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> done = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            String userID = "u" + t;
+            long seed = t;
+            done.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                for (int k = 0; k < operations; k += 2) {
+                    String eventID = "E" + random.nextInt(events);
+                    if (lock == null) {
+                        em.signUp(userID, eventID);
+                        em.cancelSignUp(userID, eventID);
+                    } else {
+                        synchronized (lock) {
+                            em.signUp(userID, eventID);
+                        }
+                        synchronized (lock) {
+                            em.cancelSignUp(userID, eventID);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : done) {
+            f.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+        return elapsed;
+    }
+}
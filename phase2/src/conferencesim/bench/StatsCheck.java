@@ -0,0 +1,259 @@
+package conferencesim.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import conferencesim.controllers.LoginController;
+import conferencesim.entities.eventpack.Event;
+import conferencesim.entities.eventpack.EventBuilder;
+import conferencesim.entities.eventpack.roomBuilder;
+import conferencesim.entities.userpack.User;
+import conferencesim.usecases.EventManager;
+import conferencesim.usecases.EventStats;
+import conferencesim.usecases.UserManager;
+import conferencesim.usecases.UserStats;
+import conferencesim.view.ErrorView;
+import conferencesim.view.MainView;
+
+/**
+ * Checks the incrementally kept statistics against a full recount over a random workload.
+ *
+ * Events: random sign ups, cancellations, deletions and re-additions go through an EventManager with EventStats
+ * attached. After each batch, what roomStats, dayStats and speakerStats print and what topAttended returns are
+ * compared with figures recounted from every event in the EventManager.
+ *
+ * Users: random registrations, deletions and friend changes go through a UserManager. After each batch, the user,
+ * role and friend counts from UserStats and UserManager are compared with a count over the user list.
+ *
+ * Prints the first mismatches and exits with status 1 if there are any.
+ *
+ * Usage: StatsCheck [operations] [seed]
+ */
+public class StatsCheck {
+
+    private static final LocalDateTime START = LocalDateTime.of(2021, 1, 1, 9, 0);
+    private static final String[] ROLES = {"attendee", "speaker", "organizer"};
+    private static final int BATCH = 500;
+
+    private static final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+    private static int mismatches;
+
+    public static void main(String[] args) {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        MainView mv = new MainView(new LoginController(new UserManager()));
+        mv.setOutput(new PrintStream(printed, true));
+        ErrorView ev = new ErrorView();
+        ev.setOutput(new PrintStream(OutputStream.nullOutputStream()));
+        System.setOut(out);
+
+        checkEvents(operations, new Random(seed), mv, ev);
+        checkUsers(operations, new Random(seed), mv, ev);
+        System.out.println(operations + " operations each, seed " + seed + ": "
+                + (mismatches == 0 ? "ok" : mismatches + " mismatches"));
+        if (mismatches != 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void checkEvents(int operations, Random random, MainView mv, ErrorView ev) {
+        int rooms = 12;
+        int events = 300;
+        int speakers = 40;
+        Map<String, Integer> capacity = new HashMap<>();
+        List<Event> all = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            EventBuilder b = new EventBuilder().setEventID("E" + i)
+                    .setLocation("R" + (i % rooms))
+                    .setOrganizer("org")
+                    .setTime(START.plusHours(i % 48), START.plusHours(i % 48 + 1));
+            if (i % 3 == 0) {
+                b.setSpeakers(Arrays.asList("sp" + (i % speakers), "sp" + ((i + 7) % speakers)));
+            } else {
+                b.setSpeaker("sp" + (i % speakers));
+            }
+            all.add(b.build());
+        }
+        EventManager em = new EventManager(new ArrayList<>(all));
+        for (int r = 0; r < rooms; r++) {
+            capacity.put("R" + r, 3 + r * 2);
+            em.updateRoom(new roomBuilder().setCapacity(3 + r * 2).setRoomName("R" + r).setRoomKind("Court")
+                    .buildRoom());
+        }
+        em.setViewCaller(mv);
+        em.seteViewCaller(ev);
+        EventStats es = new EventStats(em);
+        es.setViewCaller(mv);
+        es.seteViewCaller(ev);
+
+        for (int k = 1; k <= operations; k++) {
+            Event e = all.get(random.nextInt(events));
+            String userID = "u" + random.nextInt(200);
+            int op = random.nextInt(100);
+            if (op < 55) {
+                em.signUp(userID, e.getEventID());
+            } else if (op < 97) {
+                em.cancelSignUp(userID, e.getEventID());
+            } else if (em.eventExists(e.getEventID())) {
+                em.restoreDeletion(e.getEventID());
+            } else {
+                em.restoreEvent(e);
+            }
+            if (k % BATCH == 0) {
+                compareEvents(em, es, capacity, rooms, speakers, random);
+            }
+        }
+    }
+
+    private static void compareEvents(EventManager em, EventStats es, Map<String, Integer> capacity, int rooms,
+                                      int speakers, Random random) {
+        List<Event> events = new ArrayList<>(em.getEventList());
+        Map<String, List<Event>> byRoom = new HashMap<>();
+        Map<LocalDate, List<Event>> byDay = new HashMap<>();
+        Map<String, List<Event>> bySpeaker = new HashMap<>();
+        for (Event e : events) {
+            byRoom.computeIfAbsent(e.getLocation(), r -> new ArrayList<>()).add(e);
+            byDay.computeIfAbsent(e.getStartTime().toLocalDate(), d -> new ArrayList<>()).add(e);
+            List<String> presenting = new ArrayList<>(e.getSpeakers());
+            if (!e.getSpeakerID().isEmpty()) {
+                presenting.add(e.getSpeakerID());
+            }
+            for (String speakerID : presenting) {
+                bySpeaker.computeIfAbsent(speakerID, s -> new ArrayList<>()).add(e);
+            }
+        }
+
+        for (int r = 0; r < rooms; r++) {
+            String room = "R" + r;
+            printed.reset();
+            es.roomStats(room);
+            expect("roomStats " + room, describe(byRoom.get(room), capacity, "Room " + room), printed.toString());
+        }
+        for (int d = 0; d < 3; d++) {
+            LocalDate day = START.toLocalDate().plusDays(d);
+            printed.reset();
+            es.dayStats(day);
+            expect("dayStats " + day, describe(byDay.get(day), capacity, "Day " + day), printed.toString());
+        }
+        for (int s = 0; s < speakers; s++) {
+            String speakerID = "sp" + s;
+            printed.reset();
+            es.speakerStats(speakerID);
+            expect("speakerStats " + speakerID, describe(bySpeaker.get(speakerID), capacity, "Speaker " + speakerID),
+                    printed.toString());
+        }
+
+        events.sort(Comparator.comparingInt(Event::getEventOccupancy).reversed()
+                .thenComparing(Event::getEventID));
+        int k = 1 + random.nextInt(20);
+        List<String> top = new ArrayList<>();
+        for (Event e : events.subList(0, Math.min(k, events.size()))) {
+            top.add(e.getEventID());
+        }
+        expect("topAttended " + k, top.toString(), es.topAttended(k).toString());
+    }
+
+    /**
+     * Recounts what EventStats prints for a group of events: totals, seat utilization and the fill rate bucket of
+     * the median and 90th percentile event, found by sorting the events' fill rates.
+     */
+    private static String describe(List<Event> group, Map<String, Integer> capacity, String label) {
+        if (group == null || group.isEmpty()) {
+            return label + ": no events";
+        }
+        long attendees = 0;
+        long seats = 0;
+        List<Integer> fills = new ArrayList<>(group.size());
+        for (Event e : group) {
+            int occupancy = e.getEventOccupancy();
+            int cap = capacity.get(e.getLocation());
+            attendees += occupancy;
+            seats += cap;
+            fills.add(cap <= 0 ? 0 : (int) Math.min(10, occupancy * 10L / cap));
+        }
+        Collections.sort(fills);
+        return String.format("%s: %d events, %d/%d seats taken (%.1f%%), median fill %s, 90th percentile fill %s",
+                label, group.size(), attendees, seats, seats == 0 ? 0.0 : attendees * 100.0 / seats,
+                fill(fills, 50), fill(fills, 90));
+    }
+
+    private static String fill(List<Integer> sorted, int p) {
+        int rank = (int) Math.max(1, Math.ceil(sorted.size() * p / 100.0));
+        int bucket = sorted.get(rank - 1);
+        return bucket == 10 ? "100%" : (bucket * 10) + "-" + (bucket * 10 + 9) + "%";
+    }
+
+    private static void checkUsers(int operations, Random random, MainView mv, ErrorView ev) {
+        UserManager um = new UserManager();
+        um.setViewCaller(mv);
+        um.seteViewCaller(ev);
+        UserStats us = new UserStats(um);
+        us.setViewCaller(mv);
+        us.seteViewCaller(ev);
+
+        int ids = 2000;
+        for (int k = 1; k <= operations; k++) {
+            String userID = "u" + random.nextInt(ids);
+            String otherID = "u" + random.nextInt(ids);
+            int op = random.nextInt(100);
+            if (op < 35) {
+                um.registerUser(userID, "pw", ROLES[random.nextInt(ROLES.length)]);
+            } else if (op < 45) {
+                um.deleteUser(userID);
+            } else if (um.idExists(userID) && um.idExists(otherID)) {
+                if (op < 80) {
+                    um.addFriend(userID, otherID, false);
+                } else {
+                    um.deleteUserFriend(userID, otherID, false);
+                }
+            }
+            if (k % BATCH == 0) {
+                compareUsers(um, us);
+            }
+        }
+    }
+
+    private static void compareUsers(UserManager um, UserStats us) {
+        Map<String, Integer> roles = new HashMap<>();
+        long links = 0;
+        for (User u : um.getUserList()) {
+            roles.merge(u.getRole(), 1, Integer::sum);
+            links += u.getFriends().size();
+        }
+        int users = um.getUserList().size();
+        expect("usersRegistered", users, us.usersRegistered());
+        expect("getUserCount", users, um.getUserCount());
+        expect("speakersRegistered", roles.getOrDefault("Speaker", 0), us.speakersRegistered());
+        for (String role : new TreeSet<>(Arrays.asList("Admin", "Attendee", "Speaker", "Organizer"))) {
+            expect("getRoleCount " + role, roles.getOrDefault(role, 0), um.getRoleCount(role));
+        }
+        expect("friendStats", links, us.friendStats());
+        expect("getFriendLinkCount", links, um.getFriendLinkCount());
+    }
+
+    private static void expect(String what, Object recounted, Object kept) {
+        String expected = String.valueOf(recounted).trim();
+        String actual = String.valueOf(kept).trim();
+        if (!expected.equals(actual)) {
+            mismatches++;
+            if (mismatches <= 10) {
+                System.out.println(what + ": recounted " + expected + ", kept " + actual);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package conferencesim.bench;
+
+import java.io.BufferedReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+
+import conferencesim.controllers.LoginController;
+import conferencesim.usecases.UserImportReport;
+import conferencesim.usecases.UserManager;
+import conferencesim.view.ErrorView;
+import conferencesim.view.MainView;
+
+/**
+ * Times UserManager.importUsers on a generated CSV against registering the same users one registerUser call at a
+ * time. Each round starts from an empty UserManager.
+ *
+ * Usage: UserImportBench [rows] [rounds]
+ */
+public class UserImportBench {
+
+    private static final String[] ROLES = {"attendee", "speaker", "organizer"};
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        StringBuilder csv = new StringBuilder(rows * 24);
+        csv.append("userID,password,role\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("user").append(i).append(",pw").append(i).append(',').append(ROLES[i % ROLES.length])
+                    .append('\n');
+        }
+        String file = csv.toString();
+
+        // registerUser prints a line per user, which would swamp what is being timed
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        long imported = Long.MAX_VALUE;
+        long registered = Long.MAX_VALUE;
+        int added = 0;
+        for (int round = 0; round < rounds; round++) {
+            UserManager um = newUserManager();
+            long t = System.nanoTime();
+            UserImportReport report = um.importUsers(new BufferedReader(new StringReader(file)));
+            imported = Math.min(imported, System.nanoTime() - t);
+            added = report.getAdded();
+
+            um = newUserManager();
+            t = System.nanoTime();
+            for (int i = 0; i < rows; i++) {
+                um.registerUser("user" + i, "pw" + i, ROLES[i % ROLES.length]);
+            }
+            registered = Math.min(registered, System.nanoTime() - t);
+        }
+
+        System.setOut(out);
+        System.out.println(rows + " rows, " + added + " users imported, best of " + rounds);
+        System.out.printf("importUsers:  %.0f ms%n", imported / 1e6);
+        System.out.printf("registerUser: %.0f ms%n", registered / 1e6);
+    }
+
+    private static UserManager newUserManager() {
+        UserManager um = new UserManager();
+        um.setViewCaller(new MainView(new LoginController(um)));
+        um.seteViewCaller(new ErrorView());
+        return um;
+    }
+}
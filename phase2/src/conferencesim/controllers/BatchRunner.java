@@ -0,0 +1,115 @@
+package conferencesim.controllers;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import conferencesim.view.ErrorView;
+import conferencesim.view.MainView;
+
+/**
+ * Runs a file of commands through a CommandHelper without a console, for bulk provisioning. Blank lines and lines
+ * starting with # are skipped. A line fails when it is not a command, has bad arguments, or its command returns false
+ * or throws; what the views printed while it ran is reported as the reason, and is otherwise discarded.
+ */
+public class BatchRunner {
+
+	private final CommandHelper ch_inst;
+	private final MainView mv_inst;
+	private final ErrorView ev_inst;
+	private final PrintStream report;
+
+	private int executed;
+	private int failed;
+	private long elapsedNanos;
+
+	/**
+	 * @param ch logged in CommandHelper to run the commands with
+	 * @param mv main view bound to ch, captured while the batch runs
+	 * @param ev error view bound to ch, captured while the batch runs
+	 * @param report stream failures and the summary are printed to
+	 */
+	public BatchRunner(CommandHelper ch, MainView mv, ErrorView ev, PrintStream report) {
+		this.ch_inst = ch;
+		this.mv_inst = mv;
+		this.ev_inst = ev;
+		this.report = report;
+	}
+
+	/**
+	 * Runs every command read from in, printing one line per failure
+	 * @param in source of commands, one per line
+	 */
+	public void run(BufferedReader in) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		PrintStream captured = new PrintStream(output, false, "UTF-8");
+		mv_inst.setOutput(captured);
+		ev_inst.setOutput(captured);
+		long start = System.nanoTime();
+		try {
+			String line;
+			int lineNo = 0;
+			while ((line = in.readLine()) != null) {
+				lineNo++;
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				executed++;
+				String failure = this.runLine(line, output);
+				if (failure != null) {
+					failed++;
+					report.println("line " + lineNo + ": " + failure + " [" + line + "]");
+				}
+			}
+		} finally {
+			elapsedNanos = System.nanoTime() - start;
+			mv_inst.setOutput(System.out);
+			ev_inst.setOutput(System.out);
+		}
+	}
+
+	/**
+	 * @return why the line failed, null if it succeeded
+	 */
+	private String runLine(String line, ByteArrayOutputStream output) {
+		output.reset();
+		try {
+			if (!ch_inst.parseCommand(line)) {
+				return "The command does not exist.";
+			}
+			if (!ch_inst.executeCommand()) {
+				return "The command was entered incorrectly.";
+			}
+		} catch (RuntimeException exc) {
+			return exc.toString();
+		}
+		if (ch_inst.lastCommandSucceeded()) {
+			return null;
+		}
+		if (ch_inst.getLastFailure() != null) {
+			return ch_inst.getLastFailure().toString();
+		}
+		String printed = new String(output.toByteArray(), StandardCharsets.UTF_8).trim();
+		return printed.isEmpty() ? "The command was rejected." : printed.replace(System.lineSeparator(), "; ");
+	}
+
+	/**
+	 * @return one line with the number of commands run and failed, and the throughput
+	 */
+	public String getSummary() {
+		double seconds = elapsedNanos / 1e9;
+		return String.format("Ran %d commands in %.2f s (%.0f commands/s), %d failed", executed, seconds,
+				seconds > 0 ? executed / seconds : 0, failed);
+	}
+
+	public int getExecuted() {
+		return executed;
+	}
+
+	public int getFailed() {
+		return failed;
+	}
+}
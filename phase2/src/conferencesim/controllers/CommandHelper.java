@@ -1,16 +1,19 @@
 package conferencesim.controllers;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Scanner;
+import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -22,11 +25,17 @@ import conferencesim.exceptions.InvalidConfirmationException;
 import conferencesim.usecases.CommandManager;
 import conferencesim.usecases.Displayable;
 import conferencesim.usecases.EDisplayable;
+import conferencesim.usecases.Session;
+import conferencesim.usecases.Usecase;
 
 public class CommandHelper {
 	
 	protected CommandManager cm_inst;
 	
+	private Session session;
+	private Displayable view;
+	private EDisplayable eView;
+	
 	protected Scanner sc = new Scanner(System.in);
 	
 	private final DateTimeFormatter dfFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
@@ -36,6 +45,16 @@ public class CommandHelper {
 	private String currCommand = "";
 	private List<String> rawArgsList;
 	
+	// Outcome of the last command executed, see lastCommandSucceeded
+	private boolean lastSucceeded;
+	private Throwable lastFailure;
+	
+	// Lowercased names of the commands the current user is permitted to run
+	private final Set<String> commandNames = new HashSet<>();
+	
+	// "name/arity" -> controller method bound to its controller, built once when the controllers are registered
+	private final Map<String, Dispatch> dispatchTable = new HashMap<>();
+	
 	// Map for converting string input to applicable method parameter type
 	private final Map<Class<?>, Function<String, Object>> argMap = new HashMap<Class<?>, Function<String, Object>>() {
 		private static final long serialVersionUID = 1L; {
@@ -49,10 +68,41 @@ public class CommandHelper {
 	public CommandHelper(List<String> permList) {
 		this.cList = new ArrayList<>();
 		this.cm_inst = new CommandManager(permList);
+		for (String command : cm_inst.getCommandList()) {
+			commandNames.add(command.toLowerCase());
+		}
 		
 		this.rawArgsList = new ArrayList<>();
 	}
 	
+	/**
+	 * Creates a CommandHelper that runs the commands permitted to a session's user on that user's behalf
+	 * @param session session of the user issuing commands
+	 */
+	public CommandHelper(Session session) {
+		this(session.getPermissions());
+		this.session = session;
+	}
+	
+	/**
+	 * A command ready to run: the controller method with its controller bound in and its arguments spread from an
+	 * Object[], plus the argMap converter for each parameter. The handle returns what the method returns, boxed, or
+	 * null for a void method.
+	 */
+	private static class Dispatch {
+		private final MethodHandle handle;
+		private final List<Function<String, Object>> converters;
+		
+		private Dispatch(MethodHandle handle, List<Function<String, Object>> converters) {
+			this.handle = handle;
+			this.converters = converters;
+		}
+	}
+	
+	private static String dispatchKey(String command, int argLen) {
+		return command.toLowerCase() + "/" + argLen;
+	}
+	
 	/**
      * Open a scanner object and get input for next command for use in model view
      * @return User input
@@ -83,14 +133,51 @@ public class CommandHelper {
 	 */
 	public void registerControllers(Commandable... c) {
 		cList.addAll(Arrays.asList(c));
+		for (Commandable controller : c) {
+			if (session != null) {
+				controller.setSession(session);
+			}
+			for (Method m : controller.getClass().getMethods()) {
+				this.addDispatch(controller, m);
+			}
+		}
+	}
+	
+	/**
+	 * Adds m to the dispatch table if it implements a permitted command that no earlier controller handles already
+	 */
+	private void addDispatch(Commandable controller, Method m) {
+		String key = dispatchKey(m.getName(), m.getParameterCount());
+		if (!commandNames.contains(m.getName().toLowerCase()) || dispatchTable.containsKey(key)) {
+			return;
+		}
+		List<Function<String, Object>> converters = new ArrayList<>();
+		for (Class<?> ptype : m.getParameterTypes()) {
+			if (!argMap.containsKey(ptype)) {
+				return;
+			}
+			converters.add(argMap.get(ptype));
+		}
+		try {
+			MethodHandle handle = MethodHandles.publicLookup().unreflect(m).bindTo(controller)
+					.asSpreader(Object[].class, m.getParameterCount())
+					.asType(MethodType.methodType(Object.class, Object[].class));
+			dispatchTable.put(key, new Dispatch(handle, converters));
+		} catch (IllegalAccessException exc) {
+			// only a controller class that is not public gets here, which is a bug rather than something to report
+			throw new IllegalStateException("Cannot dispatch " + m.getName() + " to " + controller.getClass(), exc);
+		}
 	}
 	
 	/**
-	 * Sets the view bindings for all Commandable objects registred under this CommandHelper object
+	 * Sets the view bindings for all Commandable objects registred under this CommandHelper object. The commands
+	 * this CommandHelper executes print through them, whatever views other CommandHelpers have set.
 	 * @param d Displayable to register
 	 * @param ed EDisplayable to register
 	 */
 	public void setViewBindings(Displayable d, EDisplayable ed) {
+		this.view = d;
+		this.eView = ed;
 		for (Commandable c : cList) {
 			c.setCurrViews(d, ed);
 		}
@@ -106,11 +193,13 @@ public class CommandHelper {
 	public boolean parseCommand(String input) {
 		this.currCommand = "";
 		this.rawArgsList = new ArrayList<>();
-		List<String> commandList = cm_inst.getCommandList();
-		String lookupRegex = "(?i)^(" + String.join("|", commandList) + ").*";
-		if (input.matches(lookupRegex)) {
-			StringTokenizer st = new StringTokenizer(input, " ");
+		StringTokenizer st = new StringTokenizer(input, " ");
+		if (st.hasMoreTokens()) {
 			currCommand = st.nextToken();
+			if (!commandNames.contains(currCommand.toLowerCase())) {
+				currCommand = "";
+				return false;
+			}
 			String currToken;
 			while (st.hasMoreTokens()) {
 				StringBuilder quotedArg = new StringBuilder();
@@ -137,31 +226,58 @@ public class CommandHelper {
 
 
 	/**
-     * Gets method from subject controller and executes it
+     * Looks up the parsed command in the dispatch table, converts its arguments and executes it. The managers print
+     * through this CommandHelper's views while the command runs, so commands of different sessions can run at once;
+     * each manager guards its own state.
+     * @return true if the command was found and its arguments could be converted, false otherwise
+     * @see #lastCommandSucceeded()
      */
 	public boolean executeCommand() {
-		for (Iterator<Commandable> it = cList.iterator(); it.hasNext(); ) {
-			Commandable c = it.next();
-			Method m = c.getApplicableMethod(currCommand, rawArgsList.size());
-			if (m != null) {
-				Class<?>[] ptypes = m.getParameterTypes();
-				List<Object> callArgs = new ArrayList<>();
-				for (int i = 0; i < ptypes.length; i++) {
-					if (rawArgsList.size() <= i) {
-						callArgs.add(Optional.empty());
-					} else {
-						try {
-							callArgs.add(argMap.get(ptypes[i]).apply(rawArgsList.get(i)));
-						} catch (Exception e) {
-							return false;
-						}
-					}
-				}
-				c.execute(currCommand, callArgs);
-				return true;
+		this.lastSucceeded = false;
+		this.lastFailure = null;
+		Dispatch d = dispatchTable.get(dispatchKey(currCommand, rawArgsList.size()));
+		if (d == null) {
+			return false;
+		}
+		Object[] callArgs = new Object[rawArgsList.size()];
+		for (int i = 0; i < callArgs.length; i++) {
+			try {
+				callArgs[i] = d.converters.get(i).apply(rawArgsList.get(i));
+			} catch (Exception e) {
+				return false;
 			}
 		}
-		return false;
+		if (view != null) {
+			Usecase.bindViews(view, eView);
+		}
+		try {
+			Object result = (Object) d.handle.invokeExact(callArgs);
+			this.lastSucceeded = !Boolean.FALSE.equals(result);
+		} catch (Throwable exc) {
+			this.lastFailure = exc;
+			if (eView != null) {
+				eView.callView().commandFailed(currCommand, exc);
+			}
+		} finally {
+			Usecase.unbindViews();
+		}
+		return true;
+	}
+	
+	/**
+	 * Whether the last command executed did what it was asked to. Commands that change state return false when
+	 * they reject a request, e.g. registering a taken userID; commands that only display something always succeed.
+	 * @return false if the last command was not run, returned false or threw
+	 */
+	public boolean lastCommandSucceeded() {
+		return lastSucceeded;
+	}
+	
+	/**
+	 * @return what the last command executed threw, null if it did not throw
+	 */
+	public Throwable getLastFailure() {
+		return lastFailure;
 	}
 	
 	/**
@@ -7,6 +7,7 @@ import conferencesim.view.MainView;
 
 import conferencesim.exceptions.DoesNotMatchException;
 import conferencesim.exceptions.UserNotFoundException;
+import conferencesim.usecases.Session;
 import conferencesim.usecases.UserManager;
 
 public class LoginController {
@@ -15,6 +16,7 @@ public class LoginController {
     String password;
     UserManager um_inst;
     Scanner sc;
+    Session session;
     
     public LoginController(UserManager um_inst) {
         this.userID = "";
@@ -32,26 +34,36 @@ public class LoginController {
     }
 
     public void loginUser() throws UserNotFoundException, DoesNotMatchException {
-    	um_inst.loginUser(this.userID, this.password);
+    	if (um_inst.loginUser(this.userID, this.password)) {
+    		this.session = um_inst.getCurrSession();
+    	}
     }
     
     public void logoutUser() {
-    	um_inst.logoutUser(um_inst.getCurrUser());
+    	um_inst.closeSession(this.session);
+    	this.session = null;
     }
     
     public Map<String, String> getCredentials() {
-		if (um_inst.getCurrUser() == null) {
+		if (this.session == null) {
 			return null;
 		}
 		
 		Map<String, String> cMap = new HashMap<>();
-		cMap.put("userID", um_inst.getCurrUser().getUserID());
-		cMap.put("password", um_inst.getCurrUser().getPassword());
+		cMap.put("userID", this.session.getUserID());
+		cMap.put("password", this.session.getUser().getPassword());
 		return cMap;
     }
     
     public boolean isLoggedIn() {
-    	return um_inst.getCurrUserLoggedIn();
+    	return this.session != null && um_inst.getSession(this.session.getToken()) != null;
+    }
+    
+    /**
+     * @return the session opened by the last successful login, or null if logged out
+     */
+    public Session getSession() {
+    	return this.session;
     }
 
     public void injectionHelper(MainView mv) {
@@ -8,14 +8,22 @@ public abstract class CommandController implements Commandable {
 	
 	protected UserManager um_inst;
 	protected UserStats us_inst;
+	protected FriendGraph fg_inst;
 	protected EventManager em_inst;
 	protected EventStats es_inst;
 	protected RoomManager rm_inst;
 	protected Messenger m_inst;
 	protected UserRequestsHelper urh_inst;
 	
+	protected Session session;
+	
 	protected Scanner console = new Scanner(System.in);
 	
+	@Override
+	public void setSession(Session session) {
+		this.session = session;
+	}
+	
 	@Override
 	public void setCurrViews(Displayable d, EDisplayable e) {
 		if (um_inst != null) {
@@ -26,6 +34,10 @@ public abstract class CommandController implements Commandable {
 			us_inst.setViewCaller(d);
 			us_inst.seteViewCaller(e);
 		}
+		if (fg_inst != null) {
+			fg_inst.setViewCaller(d);
+			fg_inst.seteViewCaller(e);
+		}
 		if (em_inst != null) {
 			em_inst.setViewCaller(d);
 			em_inst.seteViewCaller(e);
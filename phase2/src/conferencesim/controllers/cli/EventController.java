@@ -1,13 +1,10 @@
 package conferencesim.controllers.cli;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
-import java.util.NoSuchElementException;
 import java.util.Optional;
 
+import conferencesim.entities.eventpack.Event;
 import conferencesim.usecases.EventManager;
 import conferencesim.usecases.EventStats;
 import conferencesim.usecases.RoomManager;
@@ -30,11 +27,11 @@ public class EventController extends CommandController {
 	 * @param endTime end time of the event
 	 * @param speakerIDs list of speakers presenting at the event
 	 */
-	public void addEvent(String eventID, String location, LocalDateTime startTime, LocalDateTime endTime, List<String> speakerIDs) {
+	public boolean addEvent(String eventID, String location, LocalDateTime startTime, LocalDateTime endTime, List<String> speakerIDs) {
 		if (speakerIDs.size() == 1) {
-    		em_inst.addEvent(eventID, location, um_inst.getCurrUserID(), startTime, endTime, Optional.of(speakerIDs.get(0)), Optional.empty());
+    		return em_inst.addEvent(eventID, location, session.getUserID(), startTime, endTime, Optional.of(speakerIDs.get(0)), Optional.empty());
     	} else {
-    		em_inst.addEvent(eventID, location, um_inst.getCurrUserID(), startTime, endTime, Optional.of(speakerIDs.get(0)), Optional.of(speakerIDs.subList(1, speakerIDs.size())));
+    		return em_inst.addEvent(eventID, location, session.getUserID(), startTime, endTime, Optional.empty(), Optional.of(speakerIDs));
     	}
     }
     
@@ -42,29 +39,43 @@ public class EventController extends CommandController {
 	 * Removes an event
 	 * @param eventID ID of event to add
 	 */
-    public void removeEvent(String eventID) {
-		if(em_inst.getEventsByOrganizer(um_inst.getCurrUserID()).contains(em_inst.getEventByID(eventID))) {
-			em_inst.deleteEvents(em_inst.getEventByID(eventID));
-		}
-    	em_inst.deleteEvents(em_inst.getEventByID(eventID));
+    public boolean removeEvent(String eventID) {
+		Event event = em_inst.getEventByID(eventID);
+		return event != null && em_inst.deleteEvents(event);
     }
     
     /**
-     * Signs up current user for event
+     * Signs up current user for event, if the event's room has a free seat
+     * @param eventID ID of event to attend
+     */
+    public boolean attendEvent(String eventID) {
+    	return em_inst.attendEvent(session.getUserID(), eventID);
+    }
+    
+    /**
+     * Signs up current user for event, if it takes place in room and the room has a free seat
      * @param eventID ID of event to attend
      * @param room name of room
      */
-    public void attendEvent(String eventID, String room) {
-    	um_inst.userEventSignUp(um_inst.getCurrUserID(), em_inst.getEventByID(eventID), rm_inst.getRoomByName(room));
+    public boolean attendEvent(String eventID, String room) {
+    	return em_inst.eventIsIn(eventID, room) && this.attendEvent(eventID);
     }
     
     /**
      * Leave event
      * @param eventID ID of event to remove from user's list of attended events
-     * @param room name of event
      */
-    public void cancelAttend(String eventID, String room) {
-    	um_inst.userEventCancel(um_inst.getCurrUserID(), em_inst.getEventByID(eventID), rm_inst.getRoomByName(room));
+    public boolean cancelAttend(String eventID) {
+    	return em_inst.cancelAttendance(session.getUserID(), eventID);
+    }
+    
+    /**
+     * Leave event, if it takes place in room
+     * @param eventID ID of event to remove from user's list of attended events
+     * @param room name of room
+     */
+    public boolean cancelAttend(String eventID, String room) {
+    	return em_inst.eventIsIn(eventID, room) && this.cancelAttend(eventID);
     }
 
     /**
@@ -98,12 +109,68 @@ public class EventController extends CommandController {
 	 * Show top five most attended events
 	 */
 	public void topFiveAttended(){ es_inst.topFiveAttended(); }
+	
+	/**
+	 * Show the most attended events
+	 * @param k number of events to show
+	 */
+	public void topAttended(int k) {
+		es_inst.topAttended(k);
+	}
+	
+	/**
+	 * Show attendance figures for a room
+	 * @param room name of room
+	 */
+	public void roomStats(String room) {
+		es_inst.roomStats(room);
+	}
+	
+	/**
+	 * Show attendance figures for the events starting on a day
+	 * @param day any time on the day
+	 */
+	public void dayStats(LocalDateTime day) {
+		es_inst.dayStats(day.toLocalDate());
+	}
+	
+	/**
+	 * Show attendance figures for the events a speaker presents
+	 * @param speakerID ID of speaker
+	 */
+	public void speakerStats(String speakerID) {
+		es_inst.speakerStats(speakerID);
+	}
+	
+	/**
+	 * Show sign ups and cancellations in the last hour and overall
+	 */
+	public void signUpRate() {
+		es_inst.signUpRate();
+	}
     
 	/**
 	 * View events given by current user, if current user is a Speaker
 	 */
     public void viewSpeakerEvents() {
-    	em_inst.viewSpeakerEvents(um_inst.getCurrUserID());
+    	em_inst.viewSpeakerEvents(session.getUserID());
+    }
+    
+    /**
+     * View the first page of events given by current user
+     * @param pageSize number of events per page
+     */
+    public void viewSpeakerEvents(int pageSize) {
+    	em_inst.viewSpeakerEventsPage(session.getUserID(), pageSize, null);
+    }
+    
+    /**
+     * View the page of events given by current user that follows an event
+     * @param pageSize number of events per page
+     * @param afterEventID last event of the previous page
+     */
+    public void viewSpeakerEvents(int pageSize, String afterEventID) {
+    	em_inst.viewSpeakerEventsPage(session.getUserID(), pageSize, afterEventID);
     }
     
     /**
@@ -113,6 +180,23 @@ public class EventController extends CommandController {
     	em_inst.viewEvents();
     }
     
+    /**
+     * View the first page of events, ordered by start time
+     * @param pageSize number of events per page
+     */
+    public void viewEvents(int pageSize) {
+    	em_inst.viewEventsPage(pageSize, null);
+    }
+    
+    /**
+     * View the page of events that follows an event
+     * @param pageSize number of events per page
+     * @param afterEventID last event of the previous page
+     */
+    public void viewEvents(int pageSize, String afterEventID) {
+    	em_inst.viewEventsPage(pageSize, afterEventID);
+    }
+    
     /**
      * View all events registered in a given room
      * @param location room name of events to display
@@ -121,6 +205,25 @@ public class EventController extends CommandController {
     	em_inst.viewEventsByLocation(location);
     }
     
+    /**
+     * View the first page of events in a given room
+     * @param location room name of events to display
+     * @param pageSize number of events per page
+     */
+    public void viewEventsByLocation(String location, int pageSize) {
+    	em_inst.viewEventsByLocationPage(location, pageSize, null);
+    }
+    
+    /**
+     * View the page of events in a given room that follows an event
+     * @param location room name of events to display
+     * @param pageSize number of events per page
+     * @param afterEventID last event of the previous page
+     */
+    public void viewEventsByLocation(String location, int pageSize, String afterEventID) {
+    	em_inst.viewEventsByLocationPage(location, pageSize, afterEventID);
+    }
+    
     /**
      * View all events by time given
      * @param time time of events to display
@@ -129,26 +232,29 @@ public class EventController extends CommandController {
     	em_inst.viewEventsByTime(time);
     }
     
+    /**
+     * View the first page of events running at a given time
+     * @param time time of events to display
+     * @param pageSize number of events per page
+     */
+    public void viewEventsByTime(LocalDateTime time, int pageSize) {
+    	em_inst.viewEventsByTimePage(time, pageSize, null);
+    }
+    
+    /**
+     * View the page of events running at a given time that follows an event
+     * @param time time of events to display
+     * @param pageSize number of events per page
+     * @param afterEventID last event of the previous page
+     */
+    public void viewEventsByTime(LocalDateTime time, int pageSize, String afterEventID) {
+    	em_inst.viewEventsByTimePage(time, pageSize, afterEventID);
+    }
+    
     /**
      * Display all registered attendees
      */
     public void getFellowAttendees() {
-    	em_inst.viewFellowAttendees(um_inst.getCurrUserID());
+    	em_inst.viewFellowAttendees(session.getUserID());
     }
-	
-	@Override
-	public Method getApplicableMethod(String command, int argLen) throws NoSuchElementException {
-		Method[] m_arr = this.getClass().getMethods();
-		Optional<Method> om = Arrays.asList(m_arr).stream().filter(m -> m.getName().equalsIgnoreCase(command) && m.getParameterCount() == argLen).findFirst();
-		return om.orElse(null);
-	}
-
-	@Override
-	public void execute(String command, List<Object> callArgs) {
-		try {
-			getApplicableMethod(command, callArgs.size()).invoke(this, callArgs.toArray());
-		} catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException exc) {
-			exc.printStackTrace();
-		}
-	}
 }
@@ -1,11 +1,6 @@
 package conferencesim.controllers.cli;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.Arrays;
 import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.Optional;
 
 import conferencesim.usecases.EventManager;
 import conferencesim.usecases.Messenger;
@@ -20,93 +15,75 @@ public class MessageController extends CommandController {
 	}
 	
 	public void messageUser(String userID, String message) {
-		m_inst.makeMessage(um_inst.getCurrUserID(), userID, message);
+		m_inst.makeMessage(session.getUserID(), userID, message);
 	}
 	
 	public void messageAllAttendees(String message) {
-    	for (String recipientID : um_inst.getUserIDList()) {
-    		m_inst.makeMessage(um_inst.getCurrUserID(), recipientID, message);
-    	}
+		m_inst.broadcastMessage(session.getUserID(), um_inst.getUserIDListNoPrint(), message);
     }
 	
 	public void messageAllSpeakers(String message) {
-    	for (String recipientID : um_inst.getAllSpeakerIDs()) {
-    		m_inst.makeMessage(um_inst.getCurrUserID(), recipientID, message);
-    	}
+		m_inst.broadcastMessage(session.getUserID(), um_inst.getAllSpeakerIDsNoPrint(), message);
     }
 	
-	public void messageAllAttendeesOfEvent(String eventID, String message) {
-		for (String recipientID : em_inst.getEventAttendees(eventID)) {
-			m_inst.makeMessage(um_inst.getCurrUserID(), recipientID, message);
+	public boolean messageAllAttendeesOfEvent(String eventID, String message) {
+		List<String> attendees = em_inst.getEventAttendees(eventID);
+		if (attendees == null) {
+			return false;
 		}
+		m_inst.broadcastMessage(session.getUserID(), attendees, message);
+		return true;
 	}
 
 	public boolean removeMessage(String messageID) {
-		return m_inst.deleteMessage(m_inst.getMessageByID(messageID));
+		return m_inst.deleteMessage(m_inst.getMessageByID(session.getUserID(), messageID));
 	}
 
 	public void removeAllMessagesInbox() {
-		m_inst.deleteAllMessagesInbox();
+		m_inst.deleteAllMessagesInbox(session.getUserID());
 	}
 
 	public void removeAllMessagesMessageList() {
-		 m_inst.deleteAllMessagesMessageList();
+		 m_inst.deleteAllMessagesMessageList(session.getUserID());
 	}
 
 	public boolean addDeletedMessage(String messageID) {
-		return m_inst.retrieveDeletedMessage(m_inst.getMessageByID(messageID));
+		return m_inst.retrieveDeletedMessage(m_inst.getMessageByID(session.getUserID(), messageID));
 	}
 
 	public boolean arMessage(String messageID) {
-		return m_inst.archiveMessage(m_inst.getMessageByID((messageID)));
+		return m_inst.archiveMessage(m_inst.getMessageByID(session.getUserID(), messageID));
 	}
 
 	public void arAllMessage() {
-		 m_inst.archiveAllMessages();
+		 m_inst.archiveAllMessages(session.getUserID());
 	}
 
 	public boolean unarMessage(String messageID) {
-		return m_inst.unarchiveMessage(m_inst.getMessageByID(messageID));
+		return m_inst.unarchiveMessage(m_inst.getMessageByID(session.getUserID(), messageID));
 	}
 
-	public boolean markMsgUnread(String messageID) { return m_inst.unreadMessage(m_inst.getMessageByID(messageID));}
+	public boolean markMsgUnread(String messageID) { return m_inst.unreadMessage(m_inst.getMessageByID(session.getUserID(), messageID));}
 
 	public boolean removeMessageFromTrash(String messageID) {
-		return m_inst.permanentlyDeleteMessage(m_inst.getMessageByID(messageID));
+		return m_inst.permanentlyDeleteMessage(m_inst.getMessageByID(session.getUserID(), messageID));
 	}
 
 	public void removeAllMessageFromTrash() {
-		 m_inst.permanentlyDeleteAllMessages();
+		 m_inst.permanentlyDeleteAllMessages(session.getUserID());
 	}
 
 	public void seeInbox() {
-		m_inst.getInbox(um_inst.getCurrUserID());
+		m_inst.getInbox(session.getUserID());
 	}
 
 	public void seeTrash() {
-		m_inst.getTrash(um_inst.getCurrUserID());
+		m_inst.getTrash(session.getUserID());
 	}
 
-	public void seeAllMessages() {m_inst.getAllMessages(um_inst.getCurrUserID());}
+	public void seeAllMessages() {m_inst.getAllMessages(session.getUserID());}
 	
 	public void seeConversation(String userID) {
-		m_inst.getConversation(um_inst.getCurrUserID(), userID);
-	}
-	
-	@Override
-	public Method getApplicableMethod(String command, int argLen) throws NoSuchElementException {
-		Method[] m_arr = this.getClass().getMethods();
-		Optional<Method> om = Arrays.asList(m_arr).stream().filter(m -> m.getName().equalsIgnoreCase(command) && m.getParameterCount() == argLen).findFirst();
-		return om.orElse(null);
-	}
-
-	@Override
-	public void execute(String command, List<Object> callArgs) {
-		try {
-			getApplicableMethod(command, callArgs.size()).invoke(this, callArgs.toArray());
-		} catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException exc) {
-			System.out.println("Bad command");
-			exc.printStackTrace();
-		}
+		m_inst.getConversation(session.getUserID(), userID);
 	}
 }
@@ -1,11 +1,6 @@
 package conferencesim.controllers.cli;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.Optional;
+import java.time.LocalDateTime;
 
 import conferencesim.usecases.RoomManager;
 
@@ -15,12 +10,12 @@ public class RoomController extends CommandController {
 		this.rm_inst = rm;
 	}
 	
-	public void addRoom(String roomName, int capacity, String type) {
-    	rm_inst.addRoom(roomName, capacity, type);
+	public boolean addRoom(String roomName, int capacity, String type) {
+    	return rm_inst.addRoom(roomName, capacity, type);
     }
     
-    public void removeRoom(String roomName) {
-    	rm_inst.removeRoom(roomName);
+    public boolean removeRoom(String roomName) {
+    	return rm_inst.removeRoom(roomName);
     }
 	
 	public void viewAllRooms() {
@@ -30,20 +25,15 @@ public class RoomController extends CommandController {
 	public void viewRoomTechnologies(String roomName) {
 		rm_inst.viewRoomTechnologies(roomName);
 	}
-	
-	@Override
-	public Method getApplicableMethod(String command, int argLen) throws NoSuchElementException {
-		Method[] m_arr = this.getClass().getMethods();
-		Optional<Method> om = Arrays.asList(m_arr).stream().filter(m -> m.getName().equalsIgnoreCase(command) && m.getParameterCount() == argLen).findFirst();
-		return om.orElse(null);
-	}
 
-	@Override
-	public void execute(String command, List<Object> callArgs) {
-		try {
-			getApplicableMethod(command, callArgs.size()).invoke(this, callArgs.toArray());
-		} catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException exc) {
-			exc.printStackTrace();
-		}
+	/**
+	 * View the smallest room that is free for a time slot and has enough seats and a technology
+	 * @param seats fewest seats the room needs
+	 * @param technology technology the room needs, or "any"
+	 * @param start start of the time slot
+	 * @param end end of the time slot
+	 */
+	public void findRoom(int seats, String technology, LocalDateTime start, LocalDateTime end) {
+		rm_inst.viewFreeRoom(seats, technology, start, end);
 	}
 }
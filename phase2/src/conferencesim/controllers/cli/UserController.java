@@ -1,42 +1,61 @@
 package conferencesim.controllers.cli;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.Optional;
-
 import conferencesim.usecases.*;
 
 public class UserController extends CommandController {
 
-	public UserController(UserManager um, UserStats us) {
+	public UserController(UserManager um, UserStats us, FriendGraph fg) {
 
 		this.um_inst = um;
 		this.us_inst = us;
+		this.fg_inst = fg;
 	}
 	
-	public void addFriend(String userID) {
-		um_inst.addFriend(um_inst.getCurrUserID(), userID);
-		um_inst.addFriend(userID, um_inst.getCurrUserID());
+	public boolean addFriend(String userID) {
+		return fg_inst.addFriendship(session.getUserID(), userID);
 	}
 	
 	public void viewFriends() {
-		um_inst.viewFriends();
+		um_inst.viewFriends(session.getUserID());
 	}
 	
-	public void removeFriend(String userID) {
-		um_inst.deleteUserFriend(um_inst.getCurrUserID(), userID);
-		um_inst.deleteUserFriend(userID, um_inst.getCurrUserID());
+	public boolean removeFriend(String userID) {
+		return fg_inst.removeFriendship(session.getUserID(), userID);
+	}
+
+	/**
+	 * View the friends the current user has in common with another user
+	 * @param userID id of the other user
+	 */
+	public void mutualFriends(String userID) {
+		fg_inst.viewMutualFriends(session.getUserID(), userID);
+	}
+
+	/**
+	 * View the five people the current user most likely knows
+	 */
+	public void suggestFriends() {
+		fg_inst.viewSuggestedFriends(session.getUserID(), 5);
+	}
+
+	/**
+	 * View the people the current user most likely knows, from mutual friends and shared events
+	 * @param count most suggestions to show
+	 */
+	public void suggestFriends(int count) {
+		fg_inst.viewSuggestedFriends(session.getUserID(), count);
 	}
 	
-	public void createSpeakerAccount(String userID, String password) {
-		um_inst.registerUser(userID, password, "Speaker");
+	public boolean createSpeakerAccount(String userID, String password) {
+		return um_inst.registerUser(userID, password, "Speaker");
 	}
 	
-	public void createAccount(String userID, String password, String role) {
-		um_inst.registerUser(userID, password, role);
+	public boolean createAccount(String userID, String password, String role) {
+		return um_inst.registerUser(userID, password, role);
+	}
+	
+	public boolean importUsers(String path) {
+		return um_inst.importUsersFromFile(path) != null;
 	}
 
 	public void usersRegistered() {
@@ -47,23 +66,11 @@ public class UserController extends CommandController {
 		us_inst.speakersRegistered();
 	}
 
-	public void numFriends() {
-		us_inst.numFriends(um_inst.getCurrUser());
-	}
-
-	@Override
-	public Method getApplicableMethod(String command, int argLen) throws NoSuchElementException {
-		Method[] m_arr = this.getClass().getMethods();
-		Optional<Method> om = Arrays.asList(m_arr).stream().filter(m -> m.getName().equalsIgnoreCase(command) && m.getParameterCount() == argLen).findFirst();
-		return om.orElse(null);
+	public void friendStats() {
+		us_inst.friendStats();
 	}
 
-	@Override
-	public void execute(String command, List<Object> callArgs) {
-		try {
-			getApplicableMethod(command, callArgs.size()).invoke(this, callArgs.toArray());
-		} catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException exc) {
-			exc.printStackTrace();
-		}
+	public void numFriends() {
+		us_inst.numFriends(session.getUser());
 	}
 }
@@ -0,0 +1,52 @@
+package conferencesim.entities;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+public class Mailbox {
+
+    // ISO_DATE_TIME strings of LocalDateTime sort chronologically, so there is no need to parse them
+    public static final Comparator<Message> BY_SEND_TIME =
+            Comparator.comparing(Message::getSendTimeString).thenComparing(Message::getMessageID);
+
+    private final String ownerID;
+    private final Map<MessageState, NavigableSet<Message>> folders = new EnumMap<>(MessageState.class);
+
+    /**
+     * Creates an empty mailbox for the messages received by one user
+     * @param ownerID user id of the recipient
+     */
+    public Mailbox(String ownerID) {
+        this.ownerID = ownerID;
+        for (MessageState state : MessageState.values()) {
+            folders.put(state, new TreeSet<>(BY_SEND_TIME));
+        }
+    }
+
+    public String getOwnerID() {
+        return ownerID;
+    }
+
+    /**
+     * @param state folder to look up
+     * @return the messages in that state, ordered by send time
+     */
+    public NavigableSet<Message> getFolder(MessageState state) {
+        return folders.get(state);
+    }
+
+    /**
+     * @return every message that has not been deleted, archived ones included, ordered by send time
+     */
+    public List<Message> getMessageList() {
+        List<Message> messages = new ArrayList<>(folders.get(MessageState.INBOX));
+        messages.addAll(folders.get(MessageState.ARCHIVED));
+        messages.sort(BY_SEND_TIME);
+        return messages;
+    }
+}
@@ -1,18 +1,33 @@
 package conferencesim.entities;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.UUID;
 
 public class Message implements Comparable<Message>, Serializable {
 
+    // pinned to the value computed for the original class so saved messages stay loadable
+    private static final long serialVersionUID = -2236577637349399198L;
+
+    // Saves keep the sender, content and send time in every message, as they always have been
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("messageID", String.class),
+            new ObjectStreamField("senderUserID", String.class),
+            new ObjectStreamField("receiverUserID", String.class),
+            new ObjectStreamField("content", String.class),
+            new ObjectStreamField("sendTime", String.class),
+            new ObjectStreamField("unread", boolean.class)
+    };
+
     private String messageID;
-    private String senderUserID;
     private String receiverUserID;
-    private String content;
-    //private LocalDateTime sendTime;
-    private String sendTime;
-    //private DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
+    // sender, content and send time, shared with every other recipient of the same broadcast
+    private MessageBody body;
     // for phase 2, add the repliedTo boolean to make it possible to sort by unread (adding feature)
     private boolean unread;
 
@@ -23,12 +38,56 @@ public class Message implements Comparable<Message>, Serializable {
      * @param content content of the message
      */
     public Message(String senderUserID, String receiverUserID, String content){
-        this.messageID = senderUserID + receiverUserID + LocalDateTime.now().toString();
-        this.senderUserID = senderUserID;
+        this(new MessageBody(senderUserID, content, LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME)),
+                receiverUserID);
+    }
+
+    /**
+     * Creates one recipient's copy of a message whose body may be shared with other recipients
+     * @param body sender, content and send time of the message
+     * @param receiverUserID user id of the recipient
+     */
+    public Message(MessageBody body, String receiverUserID){
+        // random, so two messages can never share an ID; saved messages keep whatever ID they were saved with
+        this(UUID.randomUUID().toString(), receiverUserID, body, true);
+    }
+
+    /**
+     * Recreates a saved message exactly as it was
+     */
+    public Message(String messageID, String senderUserID, String receiverUserID, String content, String sendTime,
+                   boolean unread){
+        this(messageID, receiverUserID, new MessageBody(senderUserID, content, sendTime), unread);
+    }
+
+    /**
+     * Recreates a saved message exactly as it was, sharing a body that has already been restored
+     */
+    public Message(String messageID, String receiverUserID, MessageBody body, boolean unread){
+        this.messageID = messageID;
         this.receiverUserID = receiverUserID;
-        this.content = content;
-        this.sendTime = LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME);
-        this.unread = true;
+        this.body = body;
+        this.unread = unread;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        this.messageID = (String) fields.get("messageID", null);
+        this.receiverUserID = (String) fields.get("receiverUserID", null);
+        this.body = new MessageBody((String) fields.get("senderUserID", null), (String) fields.get("content", null),
+                (String) fields.get("sendTime", null));
+        this.unread = fields.get("unread", false);
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("messageID", this.messageID);
+        fields.put("senderUserID", this.body.getSenderUserID());
+        fields.put("receiverUserID", this.receiverUserID);
+        fields.put("content", this.body.getContent());
+        fields.put("sendTime", this.body.getSendTime());
+        fields.put("unread", this.unread);
+        out.writeFields();
     }
 
     public String getMessageID() {
@@ -36,7 +95,7 @@ public class Message implements Comparable<Message>, Serializable {
     }
 
     public String getSenderUserID(){
-        return senderUserID;
+        return body.getSenderUserID();
     }
 
     public String getReceiverUserID(){
@@ -44,7 +103,14 @@ public class Message implements Comparable<Message>, Serializable {
     }
 
     public String getContent(){
-        return content;
+        return body.getContent();
+    }
+
+    /**
+     * @return sender, content and send time of the message, shared with the other recipients of a broadcast
+     */
+    public MessageBody getBody() {
+        return body;
     }
 
     public boolean getunread() {return this.unread;}
@@ -55,12 +121,12 @@ public class Message implements Comparable<Message>, Serializable {
 
     public LocalDateTime getSendTime() {
         DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
-        LocalDateTime dateTime = LocalDateTime.parse(sendTime, formatter);
+        LocalDateTime dateTime = LocalDateTime.parse(body.getSendTime(), formatter);
         return dateTime;
     }
 
     public String getSendTimeString() {
-        return sendTime;
+        return body.getSendTime();
     }
 
     @Override
@@ -0,0 +1,36 @@
+package conferencesim.entities;
+
+/**
+ * What a message says, who sent it and when. Every recipient of a broadcast gets their own Message, and all of those
+ * Messages share one MessageBody.
+ */
+public class MessageBody {
+
+    private final String senderUserID;
+    private final String content;
+    // formatted as DateTimeFormatter.ISO_DATE_TIME
+    private final String sendTime;
+
+    /**
+     * @param senderUserID user id of the sender
+     * @param content content of the message
+     * @param sendTime send time formatted as DateTimeFormatter.ISO_DATE_TIME
+     */
+    public MessageBody(String senderUserID, String content, String sendTime) {
+        this.senderUserID = senderUserID;
+        this.content = content;
+        this.sendTime = sendTime;
+    }
+
+    public String getSenderUserID() {
+        return senderUserID;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public String getSendTime() {
+        return sendTime;
+    }
+}
@@ -0,0 +1,12 @@
+package conferencesim.entities;
+
+/**
+ * Where a received message currently sits in its recipient's mailbox.
+ */
+public enum MessageState {
+
+    INBOX,
+    ARCHIVED,
+    TRASH
+
+}
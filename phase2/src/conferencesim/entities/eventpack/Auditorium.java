@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.util.*;
 
 public class Auditorium extends Room implements Serializable {
+    private static final long serialVersionUID = 761951114656455870L;
 
     private List<String> technologies = new ArrayList<String>();
 
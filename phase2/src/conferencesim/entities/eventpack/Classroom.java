@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class Classroom extends Room implements Serializable {
+    private static final long serialVersionUID = -2678019856558487371L;
 
     private List<String> technologies = new ArrayList<String>();
 
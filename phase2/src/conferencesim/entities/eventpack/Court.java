@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class Court extends Room implements Serializable {
+    private static final long serialVersionUID = 24916504228356293L;
 
     private List<String> technologies = new ArrayList<String>();
 
@@ -1,18 +1,38 @@
 package conferencesim.entities.eventpack;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.time.LocalDateTime;
 import java.time.Duration;
 
 public class Event implements Serializable {
+    private static final long serialVersionUID = 1400997221259932361L;
+
+    // Saves keep the attendees as a list and the occupancy as a field, as they always have been
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("eventID", String.class),
+            new ObjectStreamField("location", String.class),
+            new ObjectStreamField("organizerID", String.class),
+            new ObjectStreamField("attendees", List.class),
+            new ObjectStreamField("startTime", LocalDateTime.class),
+            new ObjectStreamField("endTime", LocalDateTime.class),
+            new ObjectStreamField("eventOccupancy", int.class)
+    };
+
     private String eventID;
     private String location;
     private String organizerID;
-    private List<String> attendees = new ArrayList<>();
+    // in sign up order; the occupancy is its size
+    private Set<String> attendees = new LinkedHashSet<>();
     private LocalDateTime startTime, endTime;
-    private int eventOccupancy;
 
     public Event(String eventID, String roomID, String organizerID, LocalDateTime startTime, LocalDateTime endTime) {
         this.eventID = eventID;
@@ -20,7 +40,30 @@ public class Event implements Serializable {
         this.organizerID = organizerID;
         this.startTime = startTime;
         this.endTime = endTime;
-        this.eventOccupancy = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        this.eventID = (String) fields.get("eventID", null);
+        this.location = (String) fields.get("location", null);
+        this.organizerID = (String) fields.get("organizerID", null);
+        this.startTime = (LocalDateTime) fields.get("startTime", null);
+        this.endTime = (LocalDateTime) fields.get("endTime", null);
+        List<String> saved = (List<String>) fields.get("attendees", null);
+        this.attendees = saved == null ? new LinkedHashSet<>() : new LinkedHashSet<>(saved);
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("eventID", this.eventID);
+        fields.put("location", this.location);
+        fields.put("organizerID", this.organizerID);
+        fields.put("attendees", new ArrayList<>(this.attendees));
+        fields.put("startTime", this.startTime);
+        fields.put("endTime", this.endTime);
+        fields.put("eventOccupancy", this.attendees.size());
+        out.writeFields();
     }
 
     public String getEventID(){
@@ -75,32 +118,35 @@ public class Event implements Serializable {
         return Duration.between(startTime, endTime);
     }
 
-    public List<String> getAttendees() {
-        return attendees;
+    /**
+     * @return read-only view of the attendees, in the order they signed up
+     */
+    public Set<String> getAttendees() {
+        return Collections.unmodifiableSet(attendees);
+    }
+
+    public boolean hasAttendee(String userID) {
+        return this.attendees.contains(userID);
     }
 
-    public int getEventOccupancy() { return eventOccupancy; }
+    public int getEventOccupancy() { return attendees.size(); }
 
     /**
-     * Add attendee to the Event if the attendees list contains userID. Return true if the user id that is being added
-     * does not already exist in attendees and that the size of the attendees does not exceed the maximum capacity.
+     * Add attendee to the Event. Capacity is checked by the caller.
      * @param userID user id that is being added to attendees.
+     * @return true if userID was not an attendee yet.
      */
-    public void addAttendee(String userID) {
-
-        this.attendees.add(userID);
-        this.eventOccupancy ++;
+    public boolean addAttendee(String userID) {
+        return this.attendees.add(userID);
     }
 
     /**
-     * Remove attendees to the Event if the attendees list contains userID. Return true if attendees contains the user
-     * id that is removed.
+     * Remove attendee from the Event.
      * @param userID that is being removed from attendees.
+     * @return true if userID was an attendee.
      */
-    public void removeAttendee(String userID) {
-
-        this.attendees.remove(userID);
-        this.eventOccupancy--;
+    public boolean removeAttendee(String userID) {
+        return this.attendees.remove(userID);
     }
 
     public boolean equals(Event e) {
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class MultiSpeakerEvent extends Event implements Serializable {
+    private static final long serialVersionUID = 7206451285062414957L;
 
     private List<String> speakers = new ArrayList<>();
 
@@ -3,6 +3,7 @@ package conferencesim.entities.eventpack;
 import java.io.Serializable;
 
 public class Room implements Serializable {
+    private static final long serialVersionUID = -8747335810121320575L;
 
     private final String roomName;
     private final int capacity;
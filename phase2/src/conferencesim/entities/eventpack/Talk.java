@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 public class Talk extends Event implements Serializable {
+    private static final long serialVersionUID = 6157812485122993075L;
 
     private String speakerID;
 
@@ -3,6 +3,7 @@ package conferencesim.entities.requestpack;
 import java.io.Serializable;
 
 public class AccessibilityRequest extends Request implements Serializable {
+    private static final long serialVersionUID = -4090127952457204840L;
 
     public AccessibilityRequest(String requestID, String UserID){
         super(requestID, UserID);
@@ -3,6 +3,7 @@ package conferencesim.entities.requestpack;
 import java.io.Serializable;
 
 public class DietaryRequest extends Request implements Serializable {
+    private static final long serialVersionUID = -4942820234067581480L;
 
     public DietaryRequest(String requestID, String UserID){
         super(requestID, UserID);
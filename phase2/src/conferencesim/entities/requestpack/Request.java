@@ -3,6 +3,8 @@ package conferencesim.entities.requestpack;
 import java.io.Serializable;
 
 public class Request implements Serializable {
+    private static final long serialVersionUID = 5933997682417243283L;
+
     /**
      * Phase 2 extension - a request submitted by user
      */
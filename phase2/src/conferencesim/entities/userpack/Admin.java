@@ -5,6 +5,8 @@ import java.util.Arrays;
 import java.util.List;
 
 public class Admin extends User implements Serializable {
+    private static final long serialVersionUID = 721727066907427018L;
+
 	
     public Admin(String userID, String password) {
         super(userID, password);
@@ -13,6 +15,9 @@ public class Admin extends User implements Serializable {
 
 	public List<String> getPermissions() {
 		return Arrays.asList(
+				"Display:",
+				"limit <rows*>",
+				"",
 				"Events:",
 				"addevent <eventID> <location> <startTime \"yyyy-MM-dd HH:mm\")> <endTime \"yyyy-MM-dd HH:mm\"> <speakerIDs* id1,id2,...,id3>",
 				"removeevent <eventID>",
@@ -21,23 +26,31 @@ public class Admin extends User implements Serializable {
 //				"earliestEvent <DayToCheck \"yyyy-MM-dd 00:00\")>",
 				"eventWithMostSpeakers",
 				"topFiveAttended",
-				"attendevent <eventID> <room>",
-				"cancelattend <eventID> <room>",
-				"viewEvents",
-				"viewEventsByLocation <location>",
-				"viewEventsByTime <time \"yyyy-MM-dd HH:mm\">",
+				"topAttended <count>",
+				"roomStats <roomName>",
+				"dayStats <day \"yyyy-MM-dd 00:00\">",
+				"speakerStats <speakerID>",
+				"signUpRate",
+				"attendevent <eventID> <room*>",
+				"cancelattend <eventID> <room*>",
+				"viewEvents <pageSize*> <afterEventID*>",
+				"viewEventsByLocation <location> <pageSize*> <afterEventID*>",
+				"viewEventsByTime <time \"yyyy-MM-dd HH:mm\"> <pageSize*> <afterEventID*>",
 				"getFellowAttendees",
 				"",
 				"Registration:",
 				"createaccount <userID> <password> <role>",
+				"importUsers <csvFile userID,password,role per line>",
 				"usersRegistered",
 				"speakersRegistered",
+				"friendStats",
 				"createSpeakerAccount <userID> <password>",
 				"",
 				"Rooms:",
 				"addroom <roomName> <capacity> <type>",
 				"viewAllRooms",
 				"viewRoomTechnologies <roomName>",
+				"findRoom <seats> <technology or any> <start \"yyyy-MM-dd HH:mm\"> <end \"yyyy-MM-dd HH:mm\">",
 				"removeroom <roomName>",
 				"",
 				"Message:",
@@ -63,7 +76,9 @@ public class Admin extends User implements Serializable {
 				"seeinbox",
 				"seeconversation <userID>",
 				"addfriend <userID>",
-				"removefriend <userID>"
+				"removefriend <userID>",
+				"mutualFriends <userID>",
+				"suggestFriends <count*>"
 				);
 	}
 }
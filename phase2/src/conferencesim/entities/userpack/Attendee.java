@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.List;
 
 public class Attendee extends User implements Serializable {
+    private static final long serialVersionUID = 1008652761738601259L;
 
     public Attendee(String userID, String password) {
         super(userID, password);
@@ -13,12 +14,15 @@ public class Attendee extends User implements Serializable {
 
 	public List<String> getPermissions() {
 		return Arrays.asList(
+				"Display:",
+				"limit <rows*>",
+				"",
 				"Events:",
-				"attendevent <eventID> <room>",
-				"cancelattend <eventID> <room>",
-				"viewEvents",
-				"viewEventsByLocation <location>",
-				"viewEventsByTime <time \"yyyy-MM-dd HH:mm\">",
+				"attendevent <eventID> <room*>",
+				"cancelattend <eventID> <room*>",
+				"viewEvents <pageSize*> <afterEventID*>",
+				"viewEventsByLocation <location> <pageSize*> <afterEventID*>",
+				"viewEventsByTime <time \"yyyy-MM-dd HH:mm\"> <pageSize*> <afterEventID*>",
 				"getFellowAttendees",
 				"",
 				"Message:",
@@ -42,6 +46,8 @@ public class Attendee extends User implements Serializable {
                 "seeinbox", 
                 "seeconversation <userID>",
                 "addfriend <userID>",
-				"removefriend <userID>");
+				"removefriend <userID>",
+				"mutualFriends <userID>",
+				"suggestFriends <count*>");
 	}
 }
@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.List;
 
 public class Organizer extends User implements Serializable {
+    private static final long serialVersionUID = 3991204093732750202L;
 
     public Organizer(String userID, String password) {
         super(userID, password);
@@ -13,6 +14,9 @@ public class Organizer extends User implements Serializable {
 
 	public List<String> getPermissions() {
 		return Arrays.asList(
+				"Display:",
+				"limit <rows*>",
+				"",
 				"Event:",
 				"addevent <eventID> <location> <startTime \"yyyy-MM-dd HH:mm\")> <endTime \"yyyy-MM-dd HH:mm\"> <speakerIDs* id1,id2,...,id3>",
 				"removeevent <eventID>",
@@ -21,24 +25,32 @@ public class Organizer extends User implements Serializable {
 //				"earliestEvent <DayToCheck \"yyyy-MM-dd 00:00\")>",
 				"eventWithMostSpeakers",
 				"topFiveAttended",
+				"topAttended <count>",
+				"roomStats <roomName>",
+				"dayStats <day \"yyyy-MM-dd 00:00\">",
+				"speakerStats <speakerID>",
+				"signUpRate",
 				"usersRegistered",
 				"speakersRegistered",
-				"viewEvents",
-				"viewEventsByLocation <location>",
-				"viewEventsByTime <time \"yyyy-MM-dd HH:mm\">",
+				"friendStats",
+				"viewEvents <pageSize*> <afterEventID*>",
+				"viewEventsByLocation <location> <pageSize*> <afterEventID*>",
+				"viewEventsByTime <time \"yyyy-MM-dd HH:mm\"> <pageSize*> <afterEventID*>",
 				"getFellowAttendees",
-				"attendevent <eventID> <room>",
-				"cancelattend <eventID> <room>",
+				"attendevent <eventID> <room*>",
+				"cancelattend <eventID> <room*>",
 				"",
 				"Registration:",
 				"createSpeakerAccount <userID> <password>",
 				"createaccount <userID> <password> <role>",
+				"importUsers <csvFile userID,password,role per line>",
 				"",
 				"  Rooms:",
 				"addroom <roomName> <capacity> <type>",
 				"removeroom <roomName>",
 				"viewAllRooms",
 				"viewRoomTechnologies <roomName>",
+				"findRoom <seats> <technology or any> <start \"yyyy-MM-dd HH:mm\"> <end \"yyyy-MM-dd HH:mm\">",
 				"",
 				"Message:",
 				"messageallattendees <message>",
@@ -64,6 +76,8 @@ public class Organizer extends User implements Serializable {
                 "seeconversation <userID>",
                 "addfriend <userID>",
                 "removefriend <userID>",
+                "mutualFriends <userID>",
+                "suggestFriends <count*>",
 				"",
                 "Requests:",
                 "addRequests <requestID> <userID> <type>",
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Arrays;
 
 public class Speaker extends User implements Serializable {
+    private static final long serialVersionUID = 8587620530461660531L;
 
     private List<String> talks = new ArrayList<String>();
 
@@ -25,17 +26,20 @@ public class Speaker extends User implements Serializable {
 
     public List<String> getPermissions() {
         return Arrays.asList(
+                "Display:",
+                "limit <rows*>",
+                "",
                 "Events:",
-                "attendevent <eventID> <room>",
-                "cancelattend <eventID> <room>",
-                "viewEvents",
-                "viewEventsByLocation <location>",
-                "viewEventsByTime <time \"yyyy-MM-dd HH:mm\">",
+                "attendevent <eventID> <room*>",
+                "cancelattend <eventID> <room*>",
+                "viewEvents <pageSize*> <afterEventID*>",
+                "viewEventsByLocation <location> <pageSize*> <afterEventID*>",
+                "viewEventsByTime <time \"yyyy-MM-dd HH:mm\"> <pageSize*> <afterEventID*>",
                 "getFellowAttendees",
                 "",
                 "Message:",
                 "messageallattendeesofevent <eventID> <message>",
-        		"viewSpeakerEvents",
+        		"viewSpeakerEvents <pageSize*> <afterEventID*>",
         		"messageuser <userID> <\"message\">",
                 "removeMessage <messageID>",
                 "removeAllMessagesInbox",
@@ -56,6 +60,8 @@ public class Speaker extends User implements Serializable {
                 "seeinbox", 
                 "seeconversation <userID>",
                 "addfriend <userID>",
-                "removefriend <userID>");
+                "removefriend <userID>",
+                "mutualFriends <userID>",
+                "suggestFriends <count*>");
     }
 }
@@ -1,17 +1,35 @@
 package conferencesim.entities.userpack;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public abstract class User implements Serializable {
+    private static final long serialVersionUID = 3727221038473413696L;
+    // Saves keep the friends as a list, as they always have been
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("userID", String.class),
+            new ObjectStreamField("password", String.class),
+            new ObjectStreamField("loggedIn", boolean.class),
+            new ObjectStreamField("role", String.class),
+            new ObjectStreamField("friends", List.class),
+            new ObjectStreamField("permList", List.class)
+    };
+
     protected String userID;  //deleted UserName from phase1
     protected String password;
     // if we create subclasses of user, store this list in the subclasses
     protected boolean loggedIn;
     protected String role;
 
-    private List<String> friends = new ArrayList<String>();
+    private Set<String> friends = new LinkedHashSet<>();
     
     protected List<String> permList;
 
@@ -21,6 +39,29 @@ public abstract class User implements Serializable {
         this.loggedIn = false;
     }
 
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        this.userID = (String) fields.get("userID", null);
+        this.password = (String) fields.get("password", null);
+        this.loggedIn = fields.get("loggedIn", false);
+        this.role = (String) fields.get("role", null);
+        this.permList = (List<String>) fields.get("permList", null);
+        List<String> saved = (List<String>) fields.get("friends", null);
+        this.friends = saved == null ? new LinkedHashSet<>() : new LinkedHashSet<>(saved);
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("userID", this.userID);
+        fields.put("password", this.password);
+        fields.put("loggedIn", this.loggedIn);
+        fields.put("role", this.role);
+        fields.put("friends", new ArrayList<>(this.friends));
+        fields.put("permList", this.permList);
+        out.writeFields();
+    }
+
     public String getUserID(){
         return userID;
     }
@@ -51,23 +92,26 @@ public abstract class User implements Serializable {
      * @return false if the friends list contains the userID else, return true.
      */
     public boolean addFriends(String userID){
-        if(friends.contains(userID)){
-            return false;
-        }
-        friends.add(userID);
-        return true;
+        return friends.add(userID);
     }
 
+    /**
+     * @param userID user id that is being removed as a friend.
+     * @return true if userID was in the friends list.
+     */
     public boolean deleteFriends(String userID) {
-        if (friends.contains(userID)) {
-            friends.remove(userID);
-            return true;
-        }
-        return false;
+        return friends.remove(userID);
+    }
+
+    public boolean hasFriend(String userID) {
+        return friends.contains(userID);
     }
 
-    public List<String> getFriends(){
-        return friends;
+    /**
+     * @return read-only view of the friends list, in the order the friends were added
+     */
+    public Set<String> getFriends(){
+        return Collections.unmodifiableSet(friends);
     }
 
     public abstract List<String> getPermissions();
@@ -0,0 +1,29 @@
+package conferencesim.exceptions;
+
+import java.io.File;
+
+/**
+ * Thrown when a save file exists but cannot be loaded, e.g. because it is corrupt or was written by a newer version.
+ * Starting with an empty manager instead would overwrite the file at the next save.
+ */
+public class UnreadableSaveFileException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final File file;
+
+	public UnreadableSaveFileException(File file, Throwable cause) {
+        super(cause);
+        this.file = file;
+    }
+
+	public File getFile() {
+		return file;
+	}
+
+	@Override
+    public String getMessage() {
+		return "Could not load " + file.getPath() + ": " + getCause().getMessage()
+				+ ". Move the file aside or restore a backup before starting again.";
+    }
+}
@@ -0,0 +1,414 @@
+package conferencesim.gateways;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import conferencesim.entities.Message;
+import conferencesim.entities.MessageBody;
+import conferencesim.entities.MessageState;
+import conferencesim.entities.eventpack.Event;
+import conferencesim.entities.eventpack.EventBuilder;
+import conferencesim.entities.eventpack.Room;
+import conferencesim.entities.eventpack.roomBuilder;
+import conferencesim.entities.requestpack.AccessibilityRequest;
+import conferencesim.entities.requestpack.DietaryRequest;
+import conferencesim.entities.requestpack.Request;
+import conferencesim.entities.userpack.Admin;
+import conferencesim.entities.userpack.Attendee;
+import conferencesim.entities.userpack.Organizer;
+import conferencesim.entities.userpack.Speaker;
+import conferencesim.entities.userpack.User;
+import conferencesim.usecases.EventManager;
+import conferencesim.usecases.Messenger;
+import conferencesim.usecases.RoomManager;
+import conferencesim.usecases.UserManager;
+import conferencesim.usecases.UserRequestsHelper;
+
+/**
+ * Versioned binary save format for the managers.
+ *
+ * A file starts with MAGIC, the format version and the ManagerType it holds, followed by a count and that many
+ * records. Each record lists its fields in a fixed order for the format version; user IDs, room names and other
+ * repeated strings go through the writer's intern table. A message record is one MessageBody followed by every
+ * recipient's copy of it, so a broadcast's content is saved once.
+ */
+public class BinaryCodec {
+
+    public static final byte[] MAGIC = {'C', 'S', 'I', 'M'};
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int PLAIN_EVENT = 0;
+    private static final int TALK = 1;
+    private static final int MULTI_SPEAKER_EVENT = 2;
+
+    /**
+     * @param head the first bytes of a file
+     * @return true if head starts with MAGIC
+     */
+    public static boolean isBinary(byte[] head) {
+        if (head.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (head[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes a complete save file for one manager.
+     * @param type the kind of manager being saved
+     * @param manager the manager instance
+     * @param w writer to save to
+     */
+    public static void encode(ManagerType type, Object manager, BinaryWriter w) throws IOException {
+        w.writeBytes(MAGIC);
+        w.writeVarInt(FORMAT_VERSION);
+        w.writeVarInt(type.ordinal());
+        switch (type) {
+            case EVENTMANAGER:
+                writeEvents(w, ((EventManager) manager).getEventList());
+                break;
+            case USERMANAGER:
+                writeUsers(w, ((UserManager) manager).getUserList());
+                break;
+            case ROOMMANAGER:
+                writeRooms(w, ((RoomManager) manager).getAllRooms());
+                break;
+            case MESSENGER:
+                writeMessages(w, (Messenger) manager);
+                break;
+            case REQUESTHELPER:
+                writeRequests(w, ((UserRequestsHelper) manager).getRequests());
+                break;
+        }
+        w.flush();
+    }
+
+    /**
+     * Reads a complete save file written by encode.
+     * @param r reader positioned at the start of the file
+     * @return the saved manager
+     * @throws IOException if the file is not in this format or is from a newer version
+     */
+    public static Object decode(BinaryReader r) throws IOException {
+        if (!isBinary(r.readBytes(MAGIC.length))) {
+            throw new IOException("Not a binary save file");
+        }
+        int version = r.readCount();
+        if (version > FORMAT_VERSION) {
+            throw new IOException("Save file version " + version + " is newer than " + FORMAT_VERSION);
+        }
+        int type = r.readCount();
+        if (type >= ManagerType.values().length) {
+            throw new IOException("Unknown manager type " + type);
+        }
+        switch (ManagerType.values()[type]) {
+            case EVENTMANAGER:
+                return new EventManager(readEvents(r));
+            case USERMANAGER:
+                return new UserManager(readUsers(r));
+            case ROOMMANAGER:
+                return new RoomManager(readRooms(r));
+            case MESSENGER:
+                return readMessages(r);
+            default:
+                return new UserRequestsHelper(readRequests(r));
+        }
+    }
+
+    private static void writeStrings(BinaryWriter w, Collection<String> strings) throws IOException {
+        w.writeVarInt(strings.size());
+        for (String s : strings) {
+            w.writeInterned(s);
+        }
+    }
+
+    private static List<String> readStrings(BinaryReader r) throws IOException {
+        int n = r.readCount();
+        List<String> strings = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            strings.add(r.readInterned());
+        }
+        return strings;
+    }
+
+    private static void writeEvents(BinaryWriter w, List<Event> events) throws IOException {
+        w.writeVarInt(events.size());
+        for (Event e : events) {
+            writeEvent(w, e);
+        }
+    }
+
+    private static List<Event> readEvents(BinaryReader r) throws IOException {
+        int n = r.readCount();
+        List<Event> events = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            events.add(readEvent(r));
+        }
+        return events;
+    }
+
+    public static void writeEvent(BinaryWriter w, Event e) throws IOException {
+        if (!e.getSpeakerID().isEmpty()) {
+            w.writeVarInt(TALK);
+        } else if (!e.getSpeakers().isEmpty()) {
+            w.writeVarInt(MULTI_SPEAKER_EVENT);
+        } else {
+            w.writeVarInt(PLAIN_EVENT);
+        }
+        w.writeString(e.getEventID());
+        w.writeInterned(e.getLocation());
+        w.writeInterned(e.getOrganizerID());
+        w.writeDateTime(e.getStartTime());
+        w.writeDateTime(e.getEndTime());
+        if (!e.getSpeakerID().isEmpty()) {
+            w.writeInterned(e.getSpeakerID());
+        } else if (!e.getSpeakers().isEmpty()) {
+            writeStrings(w, e.getSpeakers());
+        }
+        List<String> attendees;
+        synchronized (e) {
+            attendees = new ArrayList<>(e.getAttendees());
+        }
+        writeStrings(w, attendees);
+    }
+
+    public static Event readEvent(BinaryReader r) throws IOException {
+        int kind = r.readCount();
+        String eventID = r.readString();
+        String location = r.readInterned();
+        String organizerID = r.readInterned();
+        LocalDateTime startTime = r.readDateTime();
+        LocalDateTime endTime = r.readDateTime();
+        EventBuilder builder = new EventBuilder().setEventID(eventID)
+                .setLocation(location)
+                .setOrganizer(organizerID)
+                .setTime(startTime, endTime);
+        if (kind == TALK) {
+            builder.setSpeaker(r.readInterned());
+        } else if (kind == MULTI_SPEAKER_EVENT) {
+            builder.setSpeakers(readStrings(r));
+        } else if (kind != PLAIN_EVENT) {
+            throw new IOException("Unknown event kind " + kind);
+        }
+        Event event = builder.build();
+        for (String attendee : readStrings(r)) {
+            event.addAttendee(attendee);
+        }
+        return event;
+    }
+
+    private static void writeUsers(BinaryWriter w, List<User> users) throws IOException {
+        w.writeVarInt(users.size());
+        for (User u : users) {
+            writeUser(w, u);
+        }
+    }
+
+    private static List<User> readUsers(BinaryReader r) throws IOException {
+        int n = r.readCount();
+        List<User> users = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            users.add(readUser(r));
+        }
+        return users;
+    }
+
+    public static void writeUser(BinaryWriter w, User u) throws IOException {
+        w.writeInterned(u.getRole());
+        w.writeInterned(u.getUserID());
+        w.writeString(u.getPassword());
+        writeStrings(w, u.getFriends());
+        if (u instanceof Speaker) {
+            writeStrings(w, ((Speaker) u).getEvents());
+        }
+    }
+
+    public static User readUser(BinaryReader r) throws IOException {
+        String role = r.readInterned();
+        String userID = r.readInterned();
+        String password = r.readString();
+        User user;
+        if ("Admin".equals(role)) {
+            user = new Admin(userID, password);
+        } else if ("Organizer".equals(role)) {
+            user = new Organizer(userID, password);
+        } else if ("Speaker".equals(role)) {
+            user = new Speaker(userID, password);
+        } else if ("Attendee".equals(role)) {
+            user = new Attendee(userID, password);
+        } else {
+            throw new IOException("Unknown role " + role);
+        }
+        for (String friend : readStrings(r)) {
+            user.addFriends(friend);
+        }
+        if (user instanceof Speaker) {
+            for (String eventID : readStrings(r)) {
+                ((Speaker) user).addSpeakerTalks(eventID);
+            }
+        }
+        return user;
+    }
+
+    private static void writeRooms(BinaryWriter w, List<Room> rooms) throws IOException {
+        w.writeVarInt(rooms.size());
+        for (Room room : rooms) {
+            writeRoom(w, room);
+        }
+    }
+
+    private static List<Room> readRooms(BinaryReader r) throws IOException {
+        int n = r.readCount();
+        List<Room> rooms = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            rooms.add(readRoom(r));
+        }
+        return rooms;
+    }
+
+    public static void writeRoom(BinaryWriter w, Room room) throws IOException {
+        w.writeInterned(room.getClass().getSimpleName());
+        w.writeInterned(room.getRoomName());
+        w.writeVarInt(room.getCapacity());
+    }
+
+    public static Room readRoom(BinaryReader r) throws IOException {
+        String kind = r.readInterned();
+        String roomName = r.readInterned();
+        int capacity = r.readCount();
+        Room room = new roomBuilder().setCapacity(capacity).setRoomName(roomName).setRoomKind(kind).buildRoom();
+        return (room != null) ? room : new Room(roomName, capacity);
+    }
+
+    private static void writeMessages(BinaryWriter w, Messenger m) throws IOException {
+        // each body is written once, followed by every recipient's copy of it
+        Map<MessageBody, List<Message>> byBody = new IdentityHashMap<>();
+        for (Message message : m.getMessages()) {
+            byBody.computeIfAbsent(message.getBody(), b -> new ArrayList<>()).add(message);
+        }
+        w.writeVarInt(byBody.size());
+        for (Map.Entry<MessageBody, List<Message>> e : byBody.entrySet()) {
+            writeMessageBody(w, e.getKey());
+            w.writeVarInt(e.getValue().size());
+            for (Message message : e.getValue()) {
+                w.writeString(message.getMessageID());
+                w.writeInterned(message.getReceiverUserID());
+                w.writeBoolean(message.getunread());
+                writeMessageState(w, m.getMessageState(message.getMessageID()));
+            }
+        }
+    }
+
+    private static Messenger readMessages(BinaryReader r) throws IOException {
+        Messenger m = new Messenger();
+        int bodies = r.readCount();
+        for (int i = 0; i < bodies; i++) {
+            MessageBody body = readMessageBody(r);
+            int n = r.readCount();
+            for (int j = 0; j < n; j++) {
+                String messageID = r.readString();
+                String receiver = r.readInterned();
+                boolean unread = r.readBoolean();
+                m.restoreMessage(new Message(messageID, receiver, body, unread), readMessageState(r));
+            }
+        }
+        return m;
+    }
+
+    public static void writeMessageBody(BinaryWriter w, MessageBody body) throws IOException {
+        w.writeInterned(body.getSenderUserID());
+        w.writeString(body.getContent());
+        w.writeString(body.getSendTime());
+    }
+
+    public static MessageBody readMessageBody(BinaryReader r) throws IOException {
+        String sender = r.readInterned();
+        String content = r.readString();
+        String sendTime = r.readString();
+        return new MessageBody(sender, content, sendTime);
+    }
+
+    public static void writeMessage(BinaryWriter w, Message m) throws IOException {
+        w.writeString(m.getMessageID());
+        w.writeInterned(m.getSenderUserID());
+        w.writeInterned(m.getReceiverUserID());
+        w.writeString(m.getContent());
+        w.writeString(m.getSendTimeString());
+        w.writeBoolean(m.getunread());
+    }
+
+    public static Message readMessage(BinaryReader r) throws IOException {
+        String messageID = r.readString();
+        String sender = r.readInterned();
+        String receiver = r.readInterned();
+        String content = r.readString();
+        String sendTime = r.readString();
+        boolean unread = r.readBoolean();
+        return new Message(messageID, sender, receiver, content, sendTime, unread);
+    }
+
+    public static void writeMessageState(BinaryWriter w, MessageState state) throws IOException {
+        w.writeVarInt(state.ordinal());
+    }
+
+    public static MessageState readMessageState(BinaryReader r) throws IOException {
+        int state = r.readCount();
+        if (state >= MessageState.values().length) {
+            throw new IOException("Unknown message state " + state);
+        }
+        return MessageState.values()[state];
+    }
+
+    private static void writeRequests(BinaryWriter w, List<Request> requests) throws IOException {
+        w.writeVarInt(requests.size());
+        for (Request request : requests) {
+            writeRequest(w, request);
+        }
+    }
+
+    private static List<Request> readRequests(BinaryReader r) throws IOException {
+        int n = r.readCount();
+        List<Request> requests = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            requests.add(readRequest(r));
+        }
+        return requests;
+    }
+
+    public static void writeRequest(BinaryWriter w, Request request) throws IOException {
+        w.writeInterned(request.getType());
+        w.writeString(request.getRequestID());
+        w.writeInterned(request.getUser());
+        w.writeInterned(request.getStatus());
+    }
+
+    public static Request readRequest(BinaryReader r) throws IOException {
+        String type = r.readInterned();
+        String requestID = r.readString();
+        String userID = r.readInterned();
+        String status = r.readInterned();
+        Request request;
+        if ("DietaryRequest".equals(type)) {
+            request = new DietaryRequest(requestID, userID);
+        } else if ("AccessibilityRequest".equals(type)) {
+            request = new AccessibilityRequest(requestID, userID);
+        } else {
+            throw new IOException("Unknown request type " + type);
+        }
+        if ("Addressed".equals(status)) {
+            request.changeStatusAsAddressed();
+        } else if ("Pending".equals(status)) {
+            request.changeStatusAsPending();
+        }
+        return request;
+    }
+}
@@ -0,0 +1,114 @@
+package conferencesim.gateways;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads what BinaryWriter writes. The intern table is rebuilt as strings are read, so a reader must see the same
+ * sequence of values the writer produced.
+ */
+public class BinaryReader implements Closeable {
+
+    private final InputStream in;
+    private final List<String> internTable = new ArrayList<>();
+
+    public BinaryReader(InputStream in) {
+        this.in = (in instanceof BufferedInputStream) ? in : new BufferedInputStream(in);
+    }
+
+    public int readByte() throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException();
+        }
+        return b;
+    }
+
+    public byte[] readBytes(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int read = 0;
+        while (read < length) {
+            int n = in.read(bytes, read, length - read);
+            if (n < 0) {
+                throw new EOFException();
+            }
+            read += n;
+        }
+        return bytes;
+    }
+
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    public long readVarInt() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Reads a varint that is used as a count or an index.
+     */
+    public int readCount() throws IOException {
+        long value = readVarInt();
+        if (value > Integer.MAX_VALUE) {
+            throw new IOException("Count out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    public long readVarLong() throws IOException {
+        long value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public String readString() throws IOException {
+        int length = readCount();
+        if (length == 0) {
+            return null;
+        }
+        return new String(readBytes(length - 1), StandardCharsets.UTF_8);
+    }
+
+    public String readInterned() throws IOException {
+        int ref = readCount();
+        if (ref == 0) {
+            return null;
+        }
+        if (ref == 1) {
+            String s = readString();
+            internTable.add(s);
+            return s;
+        }
+        if (ref - 2 >= internTable.size()) {
+            throw new IOException("Bad string reference: " + ref);
+        }
+        return internTable.get(ref - 2);
+    }
+
+    public LocalDateTime readDateTime() throws IOException {
+        long seconds = readVarLong();
+        int nanos = readCount();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
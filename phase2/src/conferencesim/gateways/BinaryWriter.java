@@ -0,0 +1,101 @@
+package conferencesim.gateways;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Low level writer for the binary save format: varints, length-prefixed UTF-8 strings and an intern table so that
+ * strings repeated throughout a file (mostly user IDs) are written out once and referred to by index afterwards.
+ */
+public class BinaryWriter implements Closeable {
+
+    private final OutputStream out;
+    private final Map<String, Integer> internTable = new HashMap<>();
+
+    public BinaryWriter(OutputStream out) {
+        this.out = new BufferedOutputStream(out);
+    }
+
+    public void writeByte(int b) throws IOException {
+        out.write(b);
+    }
+
+    public void writeBytes(byte[] bytes) throws IOException {
+        out.write(bytes);
+    }
+
+    public void writeBoolean(boolean b) throws IOException {
+        out.write(b ? 1 : 0);
+    }
+
+    /**
+     * Writes a non-negative number in 7-bit groups, low bits first, so small values take a single byte.
+     */
+    public void writeVarInt(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Writes a number that may be negative, zigzag encoded so small magnitudes stay short.
+     */
+    public void writeVarLong(long value) throws IOException {
+        writeVarInt((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string. null is written as length 0, other strings as length + 1.
+     */
+    public void writeString(String s) throws IOException {
+        if (s == null) {
+            writeVarInt(0);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    /**
+     * Writes a string that is likely to repeat. The first occurrence is written in full and every later one as a
+     * reference into the intern table: 0 is null, 1 is a new string that follows, n + 2 is table entry n.
+     */
+    public void writeInterned(String s) throws IOException {
+        if (s == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer index = internTable.get(s);
+        if (index != null) {
+            writeVarInt(index + 2L);
+        } else {
+            internTable.put(s, internTable.size());
+            writeVarInt(1);
+            writeString(s);
+        }
+    }
+
+    public void writeDateTime(LocalDateTime time) throws IOException {
+        writeVarLong(time.toEpochSecond(ZoneOffset.UTC));
+        writeVarInt(time.getNano());
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
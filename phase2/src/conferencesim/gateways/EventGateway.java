@@ -1,12 +1,13 @@
 package conferencesim.gateways;
 
+import conferencesim.exceptions.UnreadableSaveFileException;
 import conferencesim.usecases.EventManager;
 import java.io.*;
 
 public class EventGateway extends MasterGateway implements iGateway {
 
     /**
-     * Takes an instance of EventManager and saves it as a .ser file in the serfiles directory
+     * Takes an instance of EventManager and saves it in the binary save format
      * @param save the type of ManagerType to save it as
      * @param args the instance of EventManager to be saved
      */
@@ -14,14 +15,16 @@ public class EventGateway extends MasterGateway implements iGateway {
     @Override
     public void saveFile(ManagerType save, Object[] args) {
         if (save == ManagerType.EVENTMANAGER) {
-            File file = new File("EventManagerInfo.txt");
-            saveHelper(file, args[0]);
+            saveHelper(getSaveFile(), save, args[0]);
         }
     }
 
     /**
      * Loads a previously saved EventManager instance from the serfiles directory
      * If no saved instance exists, it creates a new instance of EventManager and returns that
+     * If the file exists but cannot be loaded, it throws instead, so the file is not overwritten by an empty
+     * instance
+     * @throws UnreadableSaveFileException if the save file exists but cannot be loaded
      *
      * @return an instance of EventManager
      */
@@ -29,16 +32,18 @@ public class EventGateway extends MasterGateway implements iGateway {
 
     @Override
     public EventManager loadFile() {
-        try{
-            FileInputStream fis = new FileInputStream("EventManagerInfo.txt");
-            ObjectInputStream ois = new ObjectInputStream(fis);
-            EventManager em = (EventManager)ois.readObject();
-            ois.close();
-            fis.close();
-            return em;
-        } catch (IOException | ClassNotFoundException io) {
-
+        if (!getSaveFile().exists()) {
             return new EventManager();
         }
+        try {
+            return (EventManager) loadHelper(getSaveFile());
+        } catch (IOException | ClassNotFoundException | ClassCastException io) {
+            throw new UnreadableSaveFileException(getSaveFile(), io);
+        }
+    }
+
+    @Override
+    public File getSaveFile() {
+        return new File("EventManagerInfo.txt");
     }
 }
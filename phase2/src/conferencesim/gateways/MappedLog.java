@@ -0,0 +1,135 @@
+package conferencesim.gateways;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of records, kept memory-mapped so that an append is a copy into the page cache rather than a
+ * system call. Writes reach the file even if the program dies before saving; force() also flushes them to disk.
+ *
+ * Each record is an int length, an int CRC32 of the payload and the payload. A record is always followed by a zero
+ * length, which marks the end of the log, and its own length is written last, so a record that was only partly
+ * written is never read back.
+ */
+public class MappedLog implements Closeable {
+
+    private static final int INITIAL_SIZE = 1 << 16;
+    private static final int HEADER = 8;
+    private static final int END_MARKER = 4;
+    private static final int PAGE_SIZE = 4096;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int position;
+    // everything before this offset has been flushed to disk
+    private int forced;
+    private final List<byte[]> recovered = new ArrayList<>();
+
+    /**
+     * Opens the log at path, creating it if needed, and reads back the records already in it.
+     * @param path file holding the log
+     */
+    public MappedLog(File path) throws IOException {
+        this.file = new RandomAccessFile(path, "rw");
+        this.channel = file.getChannel();
+        this.map((int) Math.max(INITIAL_SIZE, channel.size()));
+        this.scan();
+    }
+
+    private void map(int size) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private void scan() {
+        position = 0;
+        while (position + HEADER <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - position - HEADER) {
+                break;
+            }
+            byte[] record = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(position + HEADER);
+            view.get(record);
+            if (checksum(record) != buffer.getInt(position + 4)) {
+                break;
+            }
+            recovered.add(record);
+            position += HEADER + length;
+        }
+        forced = position;
+    }
+
+    private static int checksum(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * @return the records that were in the log when it was opened, oldest first
+     */
+    public List<byte[]> getRecords() {
+        return recovered;
+    }
+
+    /**
+     * @return the number of bytes of records currently in the log
+     */
+    public int size() {
+        return position;
+    }
+
+    /**
+     * Adds a record to the end of the log, growing the file if it is full.
+     * @param record non-empty payload to add
+     */
+    public void append(byte[] record) throws IOException {
+        int needed = position + HEADER + record.length + END_MARKER;
+        if (needed > buffer.capacity()) {
+            int size = buffer.capacity();
+            while (size < needed) {
+                size *= 2;
+            }
+            this.map(size);
+        }
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + HEADER);
+        view.put(record);
+        buffer.putInt(position + 4, checksum(record));
+        buffer.putInt(position + HEADER + record.length, 0);
+        buffer.putInt(position, record.length);
+        position += HEADER + record.length;
+    }
+
+    /**
+     * Flushes everything appended so far to disk.
+     * @return the number of bytes the operating system has to write for it, i.e. the size of the dirty pages
+     */
+    public long force() {
+        if (forced == position) {
+            return 0;
+        }
+        int first = forced - forced % PAGE_SIZE;
+        int last = position + END_MARKER;
+        buffer.force();
+        forced = position;
+        return (long) (last - first + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.force();
+        channel.close();
+        file.close();
+    }
+}
@@ -1,9 +1,15 @@
 package conferencesim.gateways;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 public abstract class MasterGateway implements iGateway {
 
@@ -12,19 +18,81 @@ public abstract class MasterGateway implements iGateway {
     public abstract Object loadFile();
 
     /**
-     * Takes an instance of file path and a Manager and saves it as a .ser file in the serfiles directory
-     * @param file the path of the file to save the .ser file as
+     * @return the file this gateway saves to and loads from
+     */
+    public abstract File getSaveFile();
+
+    /**
+     * Takes an instance of file path and a Manager and saves it in the binary save format. The file is written
+     * next to its destination first and then moved over it, so a failed save leaves the previous file intact.
+     * @param file the path of the file to save to
+     * @param type the type of Manager being saved
      * @param save the instance of Manager to be saved
+     * @return true if the file was saved
      */
-    public void saveHelper(File file, Object save) {
+    public boolean saveHelper(File file, ManagerType type, Object save) {
         try {
-            FileOutputStream fos = new FileOutputStream(file);
-            ObjectOutputStream oos = new ObjectOutputStream(fos);
-            oos.writeObject(save);
-            oos.close();
-            fos.close();
+            return saveHelper(file, encodeHelper(type, save));
         } catch (IOException io) {
             io.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Encodes a Manager in the binary save format without writing it anywhere, so it can be saved later or on
+     * another thread while the Manager keeps changing.
+     * @param type the type of Manager being saved
+     * @param save the instance of Manager to be saved
+     * @return the contents of the save file
+     */
+    public static byte[] encodeHelper(ManagerType type, Object save) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BinaryWriter w = new BinaryWriter(bytes)) {
+            BinaryCodec.encode(type, save, w);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Saves contents produced by encodeHelper to file, replacing it only once the whole file is written.
+     * @param file the path of the file to save to
+     * @param contents the encoded Manager
+     * @return true if the file was saved
+     */
+    public boolean saveHelper(File file, byte[] contents) {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            out.write(contents);
+        } catch (IOException io) {
+            io.printStackTrace();
+            return false;
+        }
+        try {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException io) {
+            io.printStackTrace();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Loads a Manager saved by saveHelper. Files written by earlier versions with Java serialization are still read,
+     * and are converted to the binary format the next time they are saved.
+     * @param file the path of the file to load
+     * @return the saved Manager
+     */
+    public Object loadHelper(File file) throws IOException, ClassNotFoundException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            in.mark(BinaryCodec.MAGIC.length);
+            byte[] head = new byte[BinaryCodec.MAGIC.length];
+            int read = in.read(head);
+            in.reset();
+            if (read == head.length && BinaryCodec.isBinary(head)) {
+                return BinaryCodec.decode(new BinaryReader(in));
+            }
+            return new ObjectInputStream(in).readObject();
         }
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,13 @@
 package conferencesim.gateways;
 
+import conferencesim.exceptions.UnreadableSaveFileException;
 import conferencesim.usecases.Messenger;
 import java.io.*;
 
 public class MessageGateway extends MasterGateway implements iGateway {
 
     /**
-     * Takes an instance of Messenger and saves it as a .ser file in the serfiles directory
+     * Takes an instance of Messenger and saves it in the binary save format
      * @param save the type of ManagerType to save it as
      * @param args the instance of Messenger to be saved
      */
@@ -14,31 +15,32 @@ public class MessageGateway extends MasterGateway implements iGateway {
     @Override
     public void saveFile(ManagerType save, Object[] args) {
         if (save == ManagerType.MESSENGER) {
-            File file = new File("MessageInfo.txt");
-            saveHelper(file, args[0]);
+            saveHelper(getSaveFile(), save, args[0]);
         }
     }
 
     /**
      * Loads a previously saved Messenger instance from the serfiles directory
      * If no saved instance exists, it creates a new instance of Messenger and returns that
+     * If the file exists but cannot be loaded, it throws instead, so the file is not overwritten by an empty
+     * instance
+     * @throws UnreadableSaveFileException if the save file exists but cannot be loaded
      * @return an instance of Messenger
      */
 
     public Messenger loadFile(){
-        try{
-            FileInputStream fis = new FileInputStream("MessageInfo.txt");
-            ObjectInputStream ois = new ObjectInputStream(fis);
-            Messenger m = (Messenger)ois.readObject();
-            ois.close();
-            fis.close();
-            return m;
-
-        } catch (IOException | ClassNotFoundException io) {
-
+        if (!getSaveFile().exists()) {
             return new Messenger();
         }
+        try {
+            return (Messenger) loadHelper(getSaveFile());
+        } catch (IOException | ClassNotFoundException | ClassCastException io) {
+            throw new UnreadableSaveFileException(getSaveFile(), io);
+        }
     }
 
-
+    @Override
+    public File getSaveFile() {
+        return new File("MessageInfo.txt");
+    }
 }
@@ -1,16 +1,15 @@
 package conferencesim.gateways;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 
+import conferencesim.exceptions.UnreadableSaveFileException;
 import conferencesim.usecases.RoomManager;
 
 public class RoomGateway extends MasterGateway implements iGateway {
 
     /**
-     * Takes an instance of RoomManager and saves it as a .ser file in the serfiles directory
+     * Takes an instance of RoomManager and saves it in the binary save format
      * @param save the type of ManagerType to save it as
      * @param args the instance of RoomManager to be saved
      */
@@ -18,29 +17,32 @@ public class RoomGateway extends MasterGateway implements iGateway {
     @Override
     public void saveFile(ManagerType save, Object[] args) {
         if (save == ManagerType.ROOMMANAGER) {
-            File file = new File("RoomManagerInfo.txt");
-            saveHelper(file, args[0]);
+            saveHelper(getSaveFile(), save, args[0]);
         }
     }
 
     /**
      * Loads a previously saved RoomManager instance from the serfiles directory
      * If no saved instance exists, it creates a new instance of RoomManager and returns that
+     * If the file exists but cannot be loaded, it throws instead, so the file is not overwritten by an empty
+     * instance
+     * @throws UnreadableSaveFileException if the save file exists but cannot be loaded
      * @return an instance of RoomManager
      */
 
     public RoomManager loadFile(){
-        try{
-            FileInputStream fis = new FileInputStream("RoomManagerInfo.txt");
-            ObjectInputStream ois = new ObjectInputStream(fis);
-            RoomManager rm = (RoomManager)ois.readObject();
-            ois.close();
-            fis.close();
-            return rm;
-
-        } catch (IOException | ClassNotFoundException io) {
-
+        if (!getSaveFile().exists()) {
             return new RoomManager();
         }
+        try {
+            return (RoomManager) loadHelper(getSaveFile());
+        } catch (IOException | ClassNotFoundException | ClassCastException io) {
+            throw new UnreadableSaveFileException(getSaveFile(), io);
+        }
+    }
+
+    @Override
+    public File getSaveFile() {
+        return new File("RoomManagerInfo.txt");
     }
 }
@@ -0,0 +1,119 @@
+package conferencesim.gateways;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import conferencesim.exceptions.UnreadableSaveFileException;
+import conferencesim.usecases.EventManager;
+import conferencesim.usecases.Messenger;
+import conferencesim.usecases.RoomManager;
+import conferencesim.usecases.UserManager;
+import conferencesim.usecases.UserRequestsHelper;
+
+/**
+ * Loads every manager at startup. The save files are independent of each other, so each one is read on its own
+ * thread; references between managers are wired up only once all of them are loaded.
+ */
+public class StartupLoader {
+
+    private final Map<ManagerType, MasterGateway> gateways = new EnumMap<>(ManagerType.class);
+    private final Map<ManagerType, Object> managers = new EnumMap<>(ManagerType.class);
+    private final Map<ManagerType, Long> loadNanos = new EnumMap<>(ManagerType.class);
+    private long totalNanos;
+
+    public StartupLoader() {
+        gateways.put(ManagerType.USERMANAGER, new UserGateway());
+        gateways.put(ManagerType.EVENTMANAGER, new EventGateway());
+        gateways.put(ManagerType.ROOMMANAGER, new RoomGateway());
+        gateways.put(ManagerType.MESSENGER, new MessageGateway());
+        gateways.put(ManagerType.REQUESTHELPER, new RequestGateway());
+    }
+
+    /**
+     * Loads all five managers concurrently, then gives the RoomManager its EventManager.
+     * @throws UnreadableSaveFileException if a save file exists but cannot be loaded
+     */
+    public void load() {
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(gateways.size());
+        Map<ManagerType, Future<Object>> pending = new EnumMap<>(ManagerType.class);
+        for (Map.Entry<ManagerType, MasterGateway> e : gateways.entrySet()) {
+            MasterGateway gateway = e.getValue();
+            ManagerType type = e.getKey();
+            pending.put(type, pool.submit(() -> {
+                long t = System.nanoTime();
+                Object manager = gateway.loadFile();
+                synchronized (loadNanos) {
+                    loadNanos.put(type, System.nanoTime() - t);
+                }
+                return manager;
+            }));
+        }
+        try {
+            for (Map.Entry<ManagerType, Future<Object>> e : pending.entrySet()) {
+                managers.put(e.getKey(), e.getValue().get());
+            }
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading", exc);
+        } catch (ExecutionException exc) {
+            if (exc.getCause() instanceof UnreadableSaveFileException) {
+                throw (UnreadableSaveFileException) exc.getCause();
+            }
+            throw new IllegalStateException("Could not load a save file", exc.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        this.getRoomManager().setRoomUpdater(this.getEventManager());
+        totalNanos = System.nanoTime() - start;
+    }
+
+    public MasterGateway getGateway(ManagerType type) {
+        return gateways.get(type);
+    }
+
+    public Object getManager(ManagerType type) {
+        return managers.get(type);
+    }
+
+    public UserManager getUserManager() {
+        return (UserManager) managers.get(ManagerType.USERMANAGER);
+    }
+
+    public EventManager getEventManager() {
+        return (EventManager) managers.get(ManagerType.EVENTMANAGER);
+    }
+
+    public RoomManager getRoomManager() {
+        return (RoomManager) managers.get(ManagerType.ROOMMANAGER);
+    }
+
+    public Messenger getMessenger() {
+        return (Messenger) managers.get(ManagerType.MESSENGER);
+    }
+
+    public UserRequestsHelper getRequestHelper() {
+        return (UserRequestsHelper) managers.get(ManagerType.REQUESTHELPER);
+    }
+
+    /**
+     * @return a one line summary of how long each save file took to load and how long loading took overall
+     */
+    public String getTimings() {
+        StringBuilder sb = new StringBuilder("Loaded in ").append(String.format("%.1f ms", totalNanos / 1e6))
+                .append(" (");
+        String sep = "";
+        synchronized (loadNanos) {
+            for (Map.Entry<ManagerType, Long> e : loadNanos.entrySet()) {
+                sb.append(sep).append(gateways.get(e.getKey()).getSaveFile().getName())
+                        .append(String.format(" %.1f ms", e.getValue() / 1e6));
+                sep = ", ";
+            }
+        }
+        return sb.append(")").toString();
+    }
+}
@@ -0,0 +1,554 @@
+package conferencesim.gateways;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import conferencesim.entities.Message;
+import conferencesim.entities.MessageBody;
+import conferencesim.entities.MessageState;
+import conferencesim.entities.eventpack.Event;
+import conferencesim.entities.eventpack.Room;
+import conferencesim.entities.requestpack.Request;
+import conferencesim.entities.userpack.User;
+import conferencesim.usecases.EventJournal;
+import conferencesim.usecases.EventManager;
+import conferencesim.usecases.MessageJournal;
+import conferencesim.usecases.Messenger;
+import conferencesim.usecases.RequestJournal;
+import conferencesim.usecases.RoomJournal;
+import conferencesim.usecases.RoomManager;
+import conferencesim.usecases.UserJournal;
+import conferencesim.usecases.UserManager;
+import conferencesim.usecases.UserRequestsHelper;
+
+/**
+ * Write-ahead log shared by all the managers. Every change a manager makes is appended to the current segment as a
+ * small record, so nothing is lost if the program stops without saving.
+ *
+ * Records are flushed to disk in groups of groupCommit. Once a segment grows past checkpointBytes, a checkpoint starts
+ * a new segment and encodes every manager, and the save files are written and the old segments deleted in the
+ * background. On startup the save files are loaded as usual and the remaining segments are replayed over them.
+ * Records carry absolute values (add, remove, set state), so replaying a segment over save files that already include
+ * some of it is harmless.
+ *
+ * Records may be appended from any thread, and are appended while holding the lock of the manager or event that
+ * changed, so that they are logged in the order they were applied. A checkpoint encodes each manager while holding
+ * that manager's lock, so it never sees one of its changes half done, but holds this log's lock only while it starts
+ * the new segment. An append that fills the segment leaves its checkpoint to the checkpoint thread, so appending
+ * never waits on a checkpoint that waits on a lock the appender holds.
+ */
+public class WriteAheadLog implements Closeable, MessageJournal, EventJournal, UserJournal, RoomJournal,
+        RequestJournal {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("Journal-(\\d+)\\.txt");
+
+    private static final int MESSAGE_ADDED = 0;
+    private static final int MESSAGE_MOVED = 1;
+    private static final int MESSAGE_PURGED = 2;
+    private static final int EVENT_ADDED = 3;
+    private static final int EVENT_DELETED = 4;
+    private static final int USER_ADDED = 5;
+    private static final int USER_DELETED = 6;
+    private static final int FRIEND_ADDED = 7;
+    private static final int FRIEND_DELETED = 8;
+    private static final int SIGNED_UP = 9;
+    private static final int SIGN_UP_CANCELLED = 10;
+    private static final int ROOM_ADDED = 11;
+    private static final int ROOM_REMOVED = 12;
+    private static final int REQUEST_ADDED = 13;
+    private static final int REQUEST_STATUS_CHANGED = 14;
+    private static final int MESSAGES_BROADCAST = 15;
+
+    private final File dir;
+    private final int groupCommit;
+    private final int checkpointBytes;
+    private final Map<ManagerType, MasterGateway> gateways = new EnumMap<>(ManagerType.class);
+    private final Map<ManagerType, Object> managers = new EnumMap<>(ManagerType.class);
+    private final ExecutorService checkpointer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "journal-checkpoint");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private MappedLog current;
+    private long segment;
+    private int uncommitted;
+    private volatile Future<Boolean> lastCheckpoint;
+    // held for a whole checkpoint, so checkpoints never overlap
+    private final Object checkpointLock = new Object();
+    // set while a checkpoint for a full segment is waiting on the checkpoint thread
+    private final AtomicBoolean checkpointQueued = new AtomicBoolean();
+
+    private long recordsReplayed;
+    private long recoveryNanos;
+    private long commits;
+    private long bytesCommitted;
+    private long bytesFlushed;
+
+    /**
+     * Creates a log whose segments live in dir. Nothing is read or written until recover is called.
+     * @param dir directory holding the segments, the same one the gateways save to
+     * @param groupCommit number of records to append before flushing them to disk together
+     * @param checkpointBytes segment size at which the managers are saved and the log starts over
+     */
+    public WriteAheadLog(File dir, int groupCommit, int checkpointBytes) {
+        this.dir = dir;
+        this.groupCommit = Math.max(1, groupCommit);
+        this.checkpointBytes = checkpointBytes;
+    }
+
+    /**
+     * Adds a manager to the log. Its gateway is used for checkpoints, and the log becomes its journal once recover
+     * has run.
+     * @param type the kind of manager
+     * @param gateway the gateway the manager was loaded from
+     * @param manager the manager instance
+     */
+    public void register(ManagerType type, MasterGateway gateway, Object manager) {
+        gateways.put(type, gateway);
+        managers.put(type, manager);
+    }
+
+    /**
+     * Replays every segment left by an earlier run over the registered managers, starts a new segment and attaches
+     * this log as the journal of every manager. RoomManager must already have its room updater set, so restored rooms
+     * reach the EventManager.
+     */
+    public void recover() throws IOException {
+        long start = System.nanoTime();
+        NavigableMap<Long, File> segments = this.findSegments();
+        for (File f : segments.values()) {
+            try (MappedLog log = new MappedLog(f)) {
+                for (byte[] record : log.getRecords()) {
+                    this.replay(record);
+                    recordsReplayed++;
+                }
+            }
+        }
+        recoveryNanos = System.nanoTime() - start;
+
+        segment = segments.isEmpty() ? 0 : segments.lastKey();
+        this.startSegment();
+        this.attach();
+        if (recordsReplayed > 0) {
+            this.checkpoint();
+        }
+    }
+
+    private NavigableMap<Long, File> findSegments() {
+        NavigableMap<Long, File> segments = new TreeMap<>();
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                Matcher m = SEGMENT_NAME.matcher(f.getName());
+                if (m.matches()) {
+                    segments.put(Long.parseLong(m.group(1)), f);
+                }
+            }
+        }
+        return segments;
+    }
+
+    private File segmentFile(long n) {
+        return new File(dir, "Journal-" + n + ".txt");
+    }
+
+    private void startSegment() throws IOException {
+        segment++;
+        current = new MappedLog(this.segmentFile(segment));
+    }
+
+    private void attach() {
+        for (Object manager : managers.values()) {
+            if (manager instanceof Messenger) {
+                ((Messenger) manager).setMessageJournal(this);
+            } else if (manager instanceof EventManager) {
+                ((EventManager) manager).setEventJournal(this);
+            } else if (manager instanceof UserManager) {
+                ((UserManager) manager).setUserJournal(this);
+            } else if (manager instanceof RoomManager) {
+                ((RoomManager) manager).setRoomJournal(this);
+            } else if (manager instanceof UserRequestsHelper) {
+                ((UserRequestsHelper) manager).setRequestJournal(this);
+            }
+        }
+    }
+
+    /**
+     * Flushes the records appended since the last commit to disk.
+     */
+    public synchronized void commit() {
+        if (uncommitted == 0) {
+            return;
+        }
+        bytesFlushed += current.force();
+        commits++;
+        uncommitted = 0;
+    }
+
+    /**
+     * Saves every manager and starts a new segment. Encoding happens now, so the save files match the state at this
+     * point; writing them and deleting the segments they replace happens in the background.
+     */
+    public void checkpoint() throws IOException {
+        synchronized (checkpointLock) {
+            this.checkpointLocked();
+        }
+    }
+
+    /**
+     * Checkpoints unless another thread already did since the segment filled up.
+     */
+    private void checkpointIfFull() throws IOException {
+        synchronized (checkpointLock) {
+            checkpointQueued.set(false);
+            if (checkpointer.isShutdown()) {
+                // queued before the log closed, whose final checkpoint covers the segment
+                return;
+            }
+            boolean full;
+            synchronized (this) {
+                full = current.size() >= checkpointBytes;
+            }
+            if (full) {
+                this.checkpointLocked();
+            }
+        }
+    }
+
+    /**
+     * Seals the current segment, then encodes every manager under its own lock. Every record in the sealed segment
+     * was appended after its change was applied, so the snapshots include it; records appended to the new segment
+     * while encoding are replayed over the snapshots, which is harmless as they carry absolute values. The caller
+     * holds checkpointLock and no manager's lock.
+     */
+    private void checkpointLocked() throws IOException {
+        long sealed;
+        synchronized (this) {
+            this.commit();
+            current.close();
+            sealed = segment;
+            this.startSegment();
+        }
+        Map<ManagerType, byte[]> snapshots = new EnumMap<>(ManagerType.class);
+        for (Map.Entry<ManagerType, Object> e : managers.entrySet()) {
+            synchronized (e.getValue()) {
+                snapshots.put(e.getKey(), MasterGateway.encodeHelper(e.getKey(), e.getValue()));
+            }
+        }
+
+        lastCheckpoint = checkpointer.submit(() -> {
+            boolean saved = true;
+            for (Map.Entry<ManagerType, byte[]> e : snapshots.entrySet()) {
+                MasterGateway gateway = gateways.get(e.getKey());
+                saved &= gateway.saveHelper(gateway.getSaveFile(), e.getValue());
+            }
+            if (saved) {
+                for (Map.Entry<Long, File> s : this.findSegments().entrySet()) {
+                    if (s.getKey() <= sealed) {
+                        s.getValue().delete();
+                    }
+                }
+            }
+            return saved;
+        });
+    }
+
+    /**
+     * Takes a final checkpoint and waits for it to be written.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (checkpointLock) {
+            this.checkpointLocked();
+            checkpointer.shutdown();
+        }
+        boolean saved = false;
+        try {
+            saved = lastCheckpoint.get();
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException exc) {
+            exc.printStackTrace();
+        }
+        current.close();
+        if (saved) {
+            this.segmentFile(segment).delete();
+        }
+        try {
+            checkpointer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the number of changes replayed by recover
+     */
+    public long getRecordsReplayed() {
+        return recordsReplayed;
+    }
+
+    /**
+     * @return how long recover took to replay the log, in milliseconds
+     */
+    public double getRecoveryMillis() {
+        return recoveryNanos / 1e6;
+    }
+
+    /**
+     * @return the number of group commits flushed to disk
+     */
+    public long getCommits() {
+        return commits;
+    }
+
+    /**
+     * @return bytes the disk had to write per byte of record committed, counting whole pages
+     */
+    public double getWriteAmplification() {
+        return bytesCommitted == 0 ? 0 : (double) bytesFlushed / bytesCommitted;
+    }
+
+    private interface RecordBody {
+        void write(BinaryWriter w) throws IOException;
+    }
+
+    /**
+     * Appends a record, committing when a group is full and queueing a checkpoint when the segment is full.
+     */
+    private void append(int kind, RecordBody body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BinaryWriter w = new BinaryWriter(bytes)) {
+            w.writeVarInt(kind);
+            body.write(w);
+        } catch (IOException io) {
+            io.printStackTrace();
+            return;
+        }
+        byte[] record = bytes.toByteArray();
+        boolean full;
+        try {
+            synchronized (this) {
+                current.append(record);
+                bytesCommitted += record.length;
+                if (++uncommitted >= groupCommit) {
+                    this.commit();
+                }
+                full = current.size() >= checkpointBytes;
+            }
+        } catch (IOException io) {
+            io.printStackTrace();
+            return;
+        }
+        // the appender holds the lock of whatever changed, which the checkpoint takes to encode it, so the
+        // checkpoint runs on the checkpoint thread
+        if (full && checkpointQueued.compareAndSet(false, true)) {
+            try {
+                checkpointer.execute(() -> {
+                    try {
+                        this.checkpointIfFull();
+                    } catch (IOException io) {
+                        io.printStackTrace();
+                    }
+                });
+            } catch (RejectedExecutionException closed) {
+                // the log is closing, and its final checkpoint covers this segment
+            }
+        }
+    }
+
+    private void replay(byte[] record) throws IOException {
+        BinaryReader r = new BinaryReader(new ByteArrayInputStream(record));
+        Messenger m = (Messenger) managers.get(ManagerType.MESSENGER);
+        EventManager em = (EventManager) managers.get(ManagerType.EVENTMANAGER);
+        UserManager um = (UserManager) managers.get(ManagerType.USERMANAGER);
+        RoomManager rm = (RoomManager) managers.get(ManagerType.ROOMMANAGER);
+        UserRequestsHelper urh = (UserRequestsHelper) managers.get(ManagerType.REQUESTHELPER);
+        int kind = r.readCount();
+        switch (kind) {
+            case MESSAGE_ADDED:
+                Message message = BinaryCodec.readMessage(r);
+                m.restoreMessage(message, BinaryCodec.readMessageState(r));
+                break;
+            case MESSAGES_BROADCAST:
+                MessageBody body = BinaryCodec.readMessageBody(r);
+                int recipients = r.readCount();
+                for (int i = 0; i < recipients; i++) {
+                    String id = r.readString();
+                    m.restoreMessage(new Message(id, r.readInterned(), body, true), MessageState.INBOX);
+                }
+                break;
+            case MESSAGE_MOVED:
+                String messageID = r.readString();
+                m.restoreMessageState(messageID, BinaryCodec.readMessageState(r));
+                break;
+            case MESSAGE_PURGED:
+                m.restorePurge(r.readString());
+                break;
+            case EVENT_ADDED:
+                em.restoreEvent(BinaryCodec.readEvent(r));
+                break;
+            case EVENT_DELETED:
+                em.restoreDeletion(r.readString());
+                break;
+            case USER_ADDED:
+                um.restoreUser(BinaryCodec.readUser(r));
+                break;
+            case USER_DELETED:
+                um.restoreUserDeletion(r.readString());
+                break;
+            case FRIEND_ADDED:
+                um.restoreFriend(r.readString(), r.readString(), true);
+                break;
+            case FRIEND_DELETED:
+                um.restoreFriend(r.readString(), r.readString(), false);
+                break;
+            case SIGNED_UP:
+                em.restoreAttendee(r.readString(), r.readString(), true);
+                break;
+            case SIGN_UP_CANCELLED:
+                em.restoreAttendee(r.readString(), r.readString(), false);
+                break;
+            case ROOM_ADDED:
+                rm.restoreRoom(BinaryCodec.readRoom(r));
+                break;
+            case ROOM_REMOVED:
+                rm.restoreRoomRemoval(r.readString());
+                break;
+            case REQUEST_ADDED:
+                urh.restoreRequest(BinaryCodec.readRequest(r));
+                break;
+            case REQUEST_STATUS_CHANGED:
+                urh.restoreRequestStatus(r.readString(), r.readString());
+                break;
+            default:
+                throw new IOException("Unknown journal record " + kind);
+        }
+    }
+
+    @Override
+    public void messageAdded(Message message, MessageState state) {
+        this.append(MESSAGE_ADDED, w -> {
+            BinaryCodec.writeMessage(w, message);
+            BinaryCodec.writeMessageState(w, state);
+        });
+    }
+
+    @Override
+    public void messagesBroadcast(MessageBody body, List<Message> messages) {
+        this.append(MESSAGES_BROADCAST, w -> {
+            BinaryCodec.writeMessageBody(w, body);
+            w.writeVarInt(messages.size());
+            for (Message message : messages) {
+                w.writeString(message.getMessageID());
+                w.writeInterned(message.getReceiverUserID());
+            }
+        });
+    }
+
+    @Override
+    public void messageMoved(String messageID, MessageState state) {
+        this.append(MESSAGE_MOVED, w -> {
+            w.writeString(messageID);
+            BinaryCodec.writeMessageState(w, state);
+        });
+    }
+
+    @Override
+    public void messagePurged(String messageID) {
+        this.append(MESSAGE_PURGED, w -> w.writeString(messageID));
+    }
+
+    @Override
+    public void eventAdded(Event event) {
+        this.append(EVENT_ADDED, w -> BinaryCodec.writeEvent(w, event));
+    }
+
+    @Override
+    public void eventDeleted(String eventID) {
+        this.append(EVENT_DELETED, w -> w.writeString(eventID));
+    }
+
+    @Override
+    public void userAdded(User user) {
+        this.append(USER_ADDED, w -> BinaryCodec.writeUser(w, user));
+    }
+
+    @Override
+    public void userDeleted(String userID) {
+        this.append(USER_DELETED, w -> w.writeString(userID));
+    }
+
+    @Override
+    public void friendAdded(String userID, String friendID) {
+        this.append(FRIEND_ADDED, w -> {
+            w.writeString(userID);
+            w.writeString(friendID);
+        });
+    }
+
+    @Override
+    public void friendDeleted(String userID, String friendID) {
+        this.append(FRIEND_DELETED, w -> {
+            w.writeString(userID);
+            w.writeString(friendID);
+        });
+    }
+
+    @Override
+    public void signedUp(String userID, String eventID) {
+        this.append(SIGNED_UP, w -> {
+            w.writeString(eventID);
+            w.writeString(userID);
+        });
+    }
+
+    @Override
+    public void signUpCancelled(String userID, String eventID) {
+        this.append(SIGN_UP_CANCELLED, w -> {
+            w.writeString(eventID);
+            w.writeString(userID);
+        });
+    }
+
+    @Override
+    public void roomAdded(Room room) {
+        this.append(ROOM_ADDED, w -> BinaryCodec.writeRoom(w, room));
+    }
+
+    @Override
+    public void roomRemoved(String roomName) {
+        this.append(ROOM_REMOVED, w -> w.writeString(roomName));
+    }
+
+    @Override
+    public void requestAdded(Request request) {
+        this.append(REQUEST_ADDED, w -> BinaryCodec.writeRequest(w, request));
+    }
+
+    @Override
+    public void requestStatusChanged(String requestID, String status) {
+        this.append(REQUEST_STATUS_CHANGED, w -> {
+            w.writeString(requestID);
+            w.writeString(status);
+        });
+    }
+}
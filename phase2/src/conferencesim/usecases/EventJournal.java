@@ -0,0 +1,13 @@
+package conferencesim.usecases;
+
+import conferencesim.entities.eventpack.Event;
+
+/**
+ * Receives every change EventManager makes to its events, as it happens, so the changes can be persisted one at a time.
+ */
+public interface EventJournal {
+    void eventAdded(Event event);
+    void eventDeleted(String eventID);
+    void signedUp(String userID, String eventID);
+    void signUpCancelled(String userID, String eventID);
+}
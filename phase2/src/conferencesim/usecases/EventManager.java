@@ -1,14 +1,25 @@
 package conferencesim.usecases;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import conferencesim.entities.eventpack.Event;
 import conferencesim.entities.eventpack.EventBuilder;
@@ -16,16 +27,44 @@ import conferencesim.entities.eventpack.Room;
 
 
 public class EventManager extends Usecase implements Serializable, RoomUpdater {
+    private static final long serialVersionUID = 4294309499908013321L;
 
+    // guarded by this, as are the schedules and orderings below; sign ups only take the event's lock and only touch
+    // the concurrent eventIndex and eventsByAttendee
     private List<Event> eventList;
-    private List<Room> roomList;
+    // eventID -> Event, kept in sync with eventList and rebuilt after deserialization
+    private transient Map<String, Event> eventIndex;
+    // rooms by name, used for the capacity check on sign up; the RoomManager's own once it is connected, see
+    // setRoomRegistry. Old saves still carry the roomList this manager used to keep, which loading skips
+    private transient RoomRegistry rooms;
+    // roomName -> events in that room ordered by start time
+    private transient EventSchedule roomSchedule;
+    // speakerID -> events given by that speaker ordered by start time
+    private transient EventSchedule speakerSchedule;
+    // every event ordered by (startTime, eventID), for paged listings
+    private transient NavigableSet<Event> eventsByStart;
+    // every event in an interval tree, for "what is running at" queries across all rooms
+    private transient IntervalTree eventsByTime;
+    // userID -> events that user is signed up for, ordered by start time; changed under the event's lock
+    private transient Map<String, NavigableSet<Event>> eventsByAttendee;
+    // told about every change so it can be persisted, null if nothing is listening
+    private transient EventJournal journal;
+    // told about events and attendees coming and going, e.g. to keep rankings live
+    private transient List<EventUpdater> updaters;
 
     /**
      * Creates a blank event manager with empty eventList and rooms
      */
     public EventManager() {
         this.eventList = new ArrayList<>();
-        this.roomList = new ArrayList<>();
+        this.eventIndex = new ConcurrentHashMap<>();
+        this.rooms = new RoomRegistry(new ArrayList<>());
+        this.roomSchedule = new EventSchedule();
+        this.speakerSchedule = new EventSchedule();
+        this.eventsByStart = new TreeSet<>(EventSchedule.BY_START);
+        this.eventsByTime = new IntervalTree();
+        this.eventsByAttendee = new ConcurrentHashMap<>();
+        this.updaters = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -35,9 +74,98 @@ public class EventManager extends Usecase implements Serializable, RoomUpdater {
      */
     public EventManager(List<Event> eventList) {
         this.eventList = eventList;
+        this.rebuildIndexes();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.rebuildIndexes();
+    }
+
+    /**
+     * Rebuilds the lookup indexes from eventList.
+     */
+    private void rebuildIndexes() {
+        this.eventIndex = new ConcurrentHashMap<>();
+        this.rooms = new RoomRegistry(new ArrayList<>());
+        this.roomSchedule = new EventSchedule();
+        this.speakerSchedule = new EventSchedule();
+        this.eventsByStart = new TreeSet<>(EventSchedule.BY_START);
+        this.eventsByTime = new IntervalTree();
+        this.eventsByAttendee = new ConcurrentHashMap<>();
+        this.updaters = new CopyOnWriteArrayList<>();
+        for (Event e : this.eventList) {
+            this.indexEvent(e);
+        }
+    }
+
+    /**
+     * Sets the journal that is told about every change from now on.
+     * @param journal journal to notify, or null to stop journaling
+     */
+    public void setEventJournal(EventJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Adds an updater that is told about every change from now on.
+     * @param updater updater to notify
+     */
+    public void addEventUpdater(EventUpdater updater) {
+        this.updaters.add(updater);
+    }
+
+    private void indexEvent(Event event) {
+        this.eventIndex.put(event.getEventID(), event);
+        this.eventsByStart.add(event);
+        this.eventsByTime.add(event);
+        this.roomSchedule.add(event.getLocation(), event);
+        for (String speakerID : speakersOf(event)) {
+            this.speakerSchedule.add(speakerID, event);
+        }
+        synchronized (event) {
+            for (String userID : event.getAttendees()) {
+                this.attendeeAdded(userID, event);
+            }
+        }
+        for (EventUpdater u : this.updaters) {
+            u.eventAdded(event);
+        }
+    }
+
+    private void unindexEvent(Event event) {
+        this.eventIndex.remove(event.getEventID());
+        this.eventsByStart.remove(event);
+        this.eventsByTime.remove(event);
+        this.roomSchedule.remove(event.getLocation(), event);
+        for (String speakerID : speakersOf(event)) {
+            this.speakerSchedule.remove(speakerID, event);
+        }
+        synchronized (event) {
+            for (String userID : event.getAttendees()) {
+                this.attendeeRemoved(userID, event);
+            }
+        }
+        for (EventUpdater u : this.updaters) {
+            u.eventRemoved(event);
+        }
+    }
+
+    /**
+     * @return the IDs of everyone presenting at event, whether it is a Talk or a MultiSpeakerEvent
+     */
+    static List<String> speakersOf(Event event) {
+        List<String> speakers = new ArrayList<>(event.getSpeakers());
+        if (!event.getSpeakerID().isEmpty()) {
+            speakers.add(event.getSpeakerID());
+        }
+        return speakers;
     }
 
 
+    /**
+     * @return the events themselves, not a copy; hold this manager's lock while using it
+     */
     public List<Event> getEventList() {
         return this.eventList;
     }
@@ -50,9 +178,11 @@ public class EventManager extends Usecase implements Serializable, RoomUpdater {
      */
 
     public List<String> getEventAttendees(String eventID) {
-        Optional<Event> eventOpt = this.getEventList().stream().filter(e -> e.getEventID().equals(eventID)).findFirst();
-        if (eventOpt.isPresent()) {
-            return eventOpt.get().getAttendees();
+        Event event = this.eventIndex.get(eventID);
+        if (event != null) {
+            synchronized (event) {
+                return new ArrayList<>(event.getAttendees());
+            }
         } else {
             eView.callView().eventNotFound();
             return null;
@@ -60,25 +190,24 @@ public class EventManager extends Usecase implements Serializable, RoomUpdater {
     }
 
     /**
-     * Checks if a time conflicts with currently scheduled events.
-     * Each event has a duration which is compared to
+     * Checks if a time conflicts with currently scheduled events, i.e. whether any event is running at that time.
      *
      * @param startTime LocalDateTime
      * @return boolean indicating a time conflict
      */
-    public boolean eventTimeCoincides(LocalDateTime startTime) {
-        Stream<Event> eventStream = this.getEventList().stream().filter(e -> e.getStartTime().toLocalDate()
-                .isEqual(startTime.toLocalDate()));
-        return eventStream.anyMatch(e -> Duration.between(e.getStartTime(), startTime).toMinutes()
-                < e.getDuration().toMinutes());
+    public synchronized boolean eventTimeCoincides(LocalDateTime startTime) {
+        return !this.getEventsAtTime(startTime).isEmpty();
     }
 
-    public boolean eventCoincides(Event event) {
-        for (Event e: this.getEventsByLocation(event.getLocation())) {
-            if (Duration.between(e.getStartTime(), event.getStartTime()).toMinutes() < e.getDuration().toMinutes()) {
-                eView.callView().eventCoincides();
-                return true;
-            }
+    /**
+     * Checks if an event overlaps an event already scheduled in the same location.
+     * @param event event to check
+     * @return true if [startTime, endTime) of event overlaps another event in its location
+     */
+    public synchronized boolean eventCoincides(Event event) {
+        if (this.roomSchedule.findOverlap(event.getLocation(), event.getStartTime(), event.getEndTime()) != null) {
+            eView.callView().eventCoincides();
+            return true;
         }
 
         return false;
@@ -90,7 +219,25 @@ public class EventManager extends Usecase implements Serializable, RoomUpdater {
      * @return a boolean of whether the event exists in the event list.
      */
     public boolean eventExists(String eventID) {
-        return eventList.stream().anyMatch(e -> e.getEventID().equals(eventID));
+        return this.eventIndex.containsKey(eventID);
+    }
+
+    /**
+     * Checks that an event takes place in a room, saying so if it does not.
+     * @param eventID id of the event.
+     * @param roomName name of the room.
+     * @return true if the event exists and its location is roomName.
+     */
+    public boolean eventIsIn(String eventID, String roomName) {
+        Event event = this.getEventByID(eventID);
+        if (event == null) {
+            return false;
+        }
+        if (!event.getLocation().equals(roomName)) {
+            eView.callView().eventNotInRoom(eventID, event.getLocation());
+            return false;
+        }
+        return true;
     }
 
     /**
@@ -98,14 +245,27 @@ public class EventManager extends Usecase implements Serializable, RoomUpdater {
      * @param speakerID id of the speaker.
      * @return the speakerEvent list containing all Events with the same speaker (speakerID).
      */
-    public List<Event> getEventsBySpeaker(String speakerID) {
-        List<Event> eventsBySpeaker = new ArrayList<>();
-        for (Event e : this.getEventList()) {
-            if (e.getSpeakerID().equals(speakerID) || e.getSpeakers().contains(speakerID)) {
-                eventsBySpeaker.add(e);
+    public synchronized List<Event> getEventsBySpeaker(String speakerID) {
+        return new ArrayList<>(this.speakerSchedule.getEvents(speakerID));
+    }
+
+    /**
+     * Checks a whole set of speakers against [startTime, endTime) in one call.
+     * @param speakerIDs ids of the speakers to check.
+     * @param startTime start of the slot.
+     * @param endTime end of the slot.
+     * @return each unavailable speaker mapped to the event they are already presenting at, empty if all are free.
+     */
+    public synchronized Map<String, Event> getSpeakerConflicts(Collection<String> speakerIDs, LocalDateTime startTime,
+                                                  LocalDateTime endTime) {
+        Map<String, Event> conflicts = new LinkedHashMap<>();
+        for (String speakerID : speakerIDs) {
+            Event conflict = this.speakerSchedule.findOverlap(speakerID, startTime, endTime);
+            if (conflict != null) {
+                conflicts.put(speakerID, conflict);
             }
         }
-        return eventsBySpeaker;
+        return conflicts;
     }
 
     /**
@@ -113,7 +273,7 @@ public class EventManager extends Usecase implements Serializable, RoomUpdater {
      * @param organizerID id of the organizer.
      * @return the list containing all Events with the same organizer.
      */
-    public List<Event> getEventsByOrganizer(String organizerID) {
+    public synchronized List<Event> getEventsByOrganizer(String organizerID) {
         return this.getEventList().stream().filter(e -> e.getOrganizerID().equals(organizerID))
                 .collect(Collectors.toList());
     }
@@ -124,18 +284,17 @@ public class EventManager extends Usecase implements Serializable, RoomUpdater {
      * @return the list containing all Events that take place at the same location.
      */
 
-    public List<Event> getEventsByLocation(String roomName) {
-        return this.getEventList().stream().filter(e -> e.getLocation().equals(roomName)).collect(Collectors.toList());
+    public synchronized List<Event> getEventsByLocation(String roomName) {
+        return new ArrayList<>(this.roomSchedule.getEvents(roomName));
     }
 
     /**
-     * Return a list containing all Events that take place at @param time
+     * Return a list containing all Events that are running at @param time, i.e. startTime <= time < endTime
      * @param time LocalDateTime value
-     * @return the list containing all Events that take place at @param time.
+     * @return the list containing all Events that take place at @param time, ordered by start time.
      */
-    public List<Event> getEventsAtTime(LocalDateTime time) {
-        return this.getEventList().stream().filter(e -> Duration.between(e.getStartTime(), time).toMinutes()
-                < e.getDuration().toMinutes()).collect(Collectors.toList());
+    public synchronized List<Event> getEventsAtTime(LocalDateTime time) {
+        return this.eventsByTime.getOverlaps(time, time.plusNanos(1), null, Integer.MAX_VALUE);
     }
 
     /**
@@ -144,36 +303,47 @@ public class EventManager extends Usecase implements Serializable, RoomUpdater {
      * @return the list containing all Events that contains the attendee with userID in its attendees list.
      */
     public List<Event> getEventsByAttendee(String userID) {
-        return this.getEventList().stream().filter(e -> e.getAttendees().contains(userID)).collect(Collectors.toList());
+        NavigableSet<Event> events = this.eventsByAttendee.get(userID);
+        return events == null ? new ArrayList<>() : new ArrayList<>(events);
+    }
+
+    private void attendeeAdded(String userID, Event event) {
+        this.eventsByAttendee.computeIfAbsent(userID, k -> new ConcurrentSkipListSet<>(EventSchedule.BY_START))
+                .add(event);
     }
 
     /**
-     * Retrieve an event by its event ID
-     * @param eventID id of the event.
-     * @return Event if event exists, null otherwise
+     * @return seats in the event's room, 0 if the room no longer exists
      */
-    public Event getEventByID(String eventID) {
-        for (Event e: this.getEventList()) {
-            if (e.getEventID().equals(eventID)) {
-                return e;
-            }
+    int capacityOf(Event event) {
+        Room room = this.rooms.get(event.getLocation());
+        return room == null ? 0 : room.getCapacity();
+    }
+
+    private void attendeesChanged(Event event) {
+        for (EventUpdater u : this.updaters) {
+            u.attendeesChanged(event);
         }
+    }
 
-        eView.callView().eventDoesNotExist();
-        return null;
+    private void attendeeRemoved(String userID, Event event) {
+        this.eventsByAttendee.computeIfPresent(userID, (k, events) -> {
+            events.remove(event);
+            return events.isEmpty() ? null : events;
+        });
     }
 
-    private boolean speakerAvailable(String speakerID, LocalDateTime time) {
-        for (Event e1: this.getEventsBySpeaker(speakerID)) {
-            for (Event e2: this.getEventsAtTime(time)) {
-                if (e1.equals(e2)) {
-                    eView.callView().speakerNotAvailable();
-                    return false;
-                }
-            }
+    /**
+     * Retrieve an event by its event ID
+     * @param eventID id of the event.
+     * @return Event if event exists, null otherwise
+     */
+    public Event getEventByID(String eventID) {
+        Event event = this.eventIndex.get(eventID);
+        if (event == null) {
+            eView.callView().eventDoesNotExist();
         }
-        view.callView().print("Speaker is available");
-        return true;
+        return event;
     }
 
     /**
@@ -189,7 +359,7 @@ public class EventManager extends Usecase implements Serializable, RoomUpdater {
      * unavailable for this timeslot else, return true
      */
 
-    public boolean addEvent(String eventID, String location, String organizerID,
+    public synchronized boolean addEvent(String eventID, String location, String organizerID,
                             LocalDateTime startTime, LocalDateTime endTime, Optional<String> speakerID,
                             Optional<List<String>> speakers) {
 
@@ -198,7 +368,7 @@ public class EventManager extends Usecase implements Serializable, RoomUpdater {
             return false;
         }
         
-        if (this.roomList.stream().noneMatch(r -> r.getRoomName().equals(location))) {
+        if (!this.rooms.contains(location)) {
             eView.callView().roomDoesNotExist();
             return false;
         }
@@ -217,24 +387,22 @@ public class EventManager extends Usecase implements Serializable, RoomUpdater {
         }
 
         if (this.eventCoincides(event)) {
-            eView.callView().eventCoincides();
             return false;
         }
 
-        if (speakerID.isPresent() || speakers.isPresent()) {
-            if (speakerID.isPresent()) {
-                this.speakerAvailable(speakerID.get(), startTime);
-            } else {
-                for (String s : speakers.get()) {
-                    if (!this.speakerAvailable(s, startTime)) {
-                        eView.callView().speakerNotAvailable();;
-                        return false;
-                    }
-                }
+        Map<String, Event> conflicts = this.getSpeakerConflicts(speakersOf(event), startTime, endTime);
+        if (!conflicts.isEmpty()) {
+            for (Map.Entry<String, Event> c : conflicts.entrySet()) {
+                eView.callView().speakerNotAvailable(c.getKey(), c.getValue().getEventID());
             }
+            return false;
         }
 
         this.eventList.add(event);
+        this.indexEvent(event);
+        if (this.journal != null) {
+            this.journal.eventAdded(event);
+        }
         view.callView().print("Event successfully added");
         return true;
     }
@@ -245,9 +413,14 @@ public class EventManager extends Usecase implements Serializable, RoomUpdater {
      * @return true if the event list contains the event and the event is removed from the event list else, return
      * false.
      */
-    public boolean deleteEvents(Event event){
-        if(this.eventList.contains(event)) {
-            this.eventList.remove(event);
+    public synchronized boolean deleteEvents(Event event){
+        Event removed = (event == null) ? null : this.eventIndex.get(event.getEventID());
+        if (removed != null) {
+            this.eventList.remove(removed);
+            this.unindexEvent(removed);
+            if (this.journal != null) {
+                this.journal.eventDeleted(removed.getEventID());
+            }
             view.callView().print("Event successfully deleted");
             return true;
         }
@@ -255,47 +428,289 @@ public class EventManager extends Usecase implements Serializable, RoomUpdater {
         return false;
     }
 
-    public boolean viewSpeakerEvents(String userID) {
+    /**
+     * Puts a saved event back, replacing any event with the same ID, without printing anything, checking for conflicts
+     * or notifying the journal.
+     * @param event event to restore
+     */
+    public synchronized void restoreEvent(Event event) {
+        this.restoreDeletion(event.getEventID());
+        this.eventList.add(event);
+        this.indexEvent(event);
+    }
+
+    /**
+     * Drops a restored event without printing anything or notifying the journal.
+     * @param eventID id of the event
+     */
+    public synchronized void restoreDeletion(String eventID) {
+        Event event = this.eventIndex.get(eventID);
+        if (event != null) {
+            this.eventList.remove(event);
+            this.unindexEvent(event);
+        }
+    }
+
+    /**
+     * Signs a user up for, or takes them off, a restored event without printing anything or notifying a journal.
+     * @param eventID id of the event
+     * @param userID id of the attendee
+     * @param attending true to sign the user up, false to cancel
+     */
+    public void restoreAttendee(String eventID, String userID, boolean attending) {
+        Event event = this.eventIndex.get(eventID);
+        if (event == null) {
+            return;
+        }
+        synchronized (event) {
+            if (attending && event.addAttendee(userID)) {
+                this.attendeeAdded(userID, event);
+                this.attendeesChanged(event);
+            } else if (!attending && event.removeAttendee(userID)) {
+                this.attendeeRemoved(userID, event);
+                this.attendeesChanged(event);
+            }
+        }
+    }
+
+    /**
+     * Signs the current user up for an event and says whether it worked.
+     * @param userID id of the attendee
+     * @param eventID id of the event
+     * @return true if the user was signed up
+     */
+    public boolean attendEvent(String userID, String eventID) {
+        if (!this.eventIndex.containsKey(eventID)) {
+            eView.callView().eventDoesNotExist();
+            return false;
+        }
+        if (this.signUp(userID, eventID)) {
+            view.print("Signup successful");
+            return true;
+        }
+        view.print("Signup unsuccessful");
+        return false;
+    }
+
+    /**
+     * Takes the current user off an event, saying so only if they were not signed up.
+     * @param userID id of the attendee
+     * @param eventID id of the event
+     * @return true if the user was signed up
+     */
+    public boolean cancelAttendance(String userID, String eventID) {
+        if (!this.eventIndex.containsKey(eventID)) {
+            eView.callView().eventDoesNotExist();
+            return false;
+        }
+        if (!this.cancelSignUp(userID, eventID)) {
+            view.print("Removal unsuccessful");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Signs a user up for an event if they are not signed up yet and the event's room has a free seat. The check and
+     * the sign up happen under the event's own lock, so sign ups for one event never overbook it and sign ups for
+     * different events never wait for each other. An event deleted meanwhile takes no more sign ups. Prints nothing
+     * and is safe to call from any thread.
+     * @param userID id of the attendee
+     * @param eventID id of the event
+     * @return true if the user was signed up
+     */
+    public boolean signUp(String userID, String eventID) {
+        Event event = this.eventIndex.get(eventID);
+        if (event == null) {
+            return false;
+        }
+        int capacity = this.capacityOf(event);
+        synchronized (event) {
+            // deleteEvents drops the event from eventIndex before taking its lock to drop its attendees
+            if (this.eventIndex.get(eventID) != event || event.getEventOccupancy() >= capacity
+                    || !event.addAttendee(userID)) {
+                return false;
+            }
+            this.attendeeAdded(userID, event);
+            this.attendeesChanged(event);
+            // journaled under the event's lock, so the log has this event's sign ups in the order they happened
+            if (this.journal != null) {
+                this.journal.signedUp(userID, eventID);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Takes a user off an event. Prints nothing and is safe to call from any thread.
+     * @param userID id of the attendee
+     * @param eventID id of the event
+     * @return true if the user was signed up
+     * @see #signUp(String, String)
+     */
+    public boolean cancelSignUp(String userID, String eventID) {
+        Event event = this.eventIndex.get(eventID);
+        if (event == null) {
+            return false;
+        }
+        synchronized (event) {
+            if (!event.removeAttendee(userID)) {
+                return false;
+            }
+            this.attendeeRemoved(userID, event);
+            this.attendeesChanged(event);
+            if (this.journal != null) {
+                this.journal.signUpCancelled(userID, eventID);
+            }
+        }
+        return true;
+    }
+
+    public synchronized boolean viewSpeakerEvents(String userID) {
     	List<String> eventList = getEventsBySpeaker(userID).stream().map(Event::toString).collect(Collectors.toList());
     	view.printList(eventList);
     	return true;
     }
     
-    public boolean viewEvents() {
+    public synchronized boolean viewEvents() {
     	List<String> eventList = getEventList().stream().map(Event::toString).collect(Collectors.toList());
     	view.printList(eventList);
     	return true;
     }
     
-    public boolean viewEventsByLocation(String location) {
+    public synchronized boolean viewEventsByLocation(String location) {
     	List<String> eventList = getEventsByLocation(location).stream().map(Event::toString).collect(Collectors.toList());
     	view.printList(eventList);
     	return true;
     }
     
-    public boolean viewEventsByTime(LocalDateTime time) {
+    public synchronized boolean viewEventsByTime(LocalDateTime time) {
     	List<String> eventList = getEventsAtTime(time).stream().map(Event::toString).collect(Collectors.toList());
     	view.printList(eventList);
     	return true;
     }
     
+    /**
+     * Shows one page of all events, ordered by start time.
+     * @param pageSize most events to show.
+     * @param afterEventID last event of the previous page, or null for the first page.
+     * @return true if the page was shown, false if afterEventID does not exist or pageSize is not positive.
+     */
+    public synchronized boolean viewEventsPage(int pageSize, String afterEventID) {
+        return this.viewPage(pageOf(this.eventsByStart), pageSize, afterEventID);
+    }
+
+    /**
+     * Shows one page of the events in a room, ordered by start time.
+     * @see #viewEventsPage(int, String)
+     */
+    public synchronized boolean viewEventsByLocationPage(String location, int pageSize, String afterEventID) {
+        return this.viewPage(pageOf(this.roomSchedule.getEvents(location)), pageSize, afterEventID);
+    }
+
+    /**
+     * Shows one page of the events running at a time, ordered by start time.
+     * @see #viewEventsPage(int, String)
+     */
+    public synchronized boolean viewEventsByTimePage(LocalDateTime time, int pageSize, String afterEventID) {
+        return this.viewPage((after, limit) -> this.eventsByTime.getOverlaps(time, time.plusNanos(1), after, limit),
+                pageSize, afterEventID);
+    }
+
+    /**
+     * Shows one page of the events given by a speaker, ordered by start time.
+     * @see #viewEventsPage(int, String)
+     */
+    public synchronized boolean viewSpeakerEventsPage(String userID, int pageSize, String afterEventID) {
+        return this.viewPage(pageOf(this.speakerSchedule.getEvents(userID)), pageSize, afterEventID);
+    }
+
+    /**
+     * @return the first events of source after a given event, or from the start if it is null
+     */
+    private static BiFunction<Event, Integer, List<Event>> pageOf(NavigableSet<Event> source) {
+        return (after, limit) -> {
+            Iterator<Event> it = (after == null) ? source.iterator() : source.tailSet(after, false).iterator();
+            List<Event> page = new ArrayList<>(Math.min(limit, 64));
+            while (it.hasNext() && page.size() < limit) {
+                page.add(it.next());
+            }
+            return page;
+        };
+    }
+
+    /**
+     * Prints up to pageSize events that come after afterEventID in (startTime, eventID) order. pages returns at most
+     * the given number of events after the given one, so only the events on the page, plus one to tell whether more
+     * follow, are visited and the cost does not depend on how many events there are in total.
+     */
+    private boolean viewPage(BiFunction<Event, Integer, List<Event>> pages, int pageSize, String afterEventID) {
+        if (pageSize < 1) {
+            view.print("The page size must be at least 1");
+            return false;
+        }
+        Event after = null;
+        if (afterEventID != null) {
+            after = this.eventIndex.get(afterEventID);
+            if (after == null) {
+                eView.callView().eventDoesNotExist();
+                return false;
+            }
+        }
+        List<Event> events = pages.apply(after, pageSize == Integer.MAX_VALUE ? pageSize : pageSize + 1);
+        List<String> page = new ArrayList<>(Math.min(pageSize, events.size()));
+        for (Event e : events.subList(0, Math.min(pageSize, events.size()))) {
+            page.add(e.toString());
+        }
+        view.printList(page);
+        if (events.size() > pageSize) {
+            view.print("More events follow, continue after " + events.get(pageSize - 1).getEventID());
+        }
+        return true;
+    }
+
     public boolean viewFellowAttendees(String userID) {
-    	Stream<String> ls = getEventsByAttendee(userID).stream().map(Event::getAttendees).collect(Collectors.toList()).stream().flatMap(Collection::stream);
-    	view.printList(ls.collect(Collectors.toList()));
+    	view.printList(new ArrayList<>(this.getFellowAttendees(userID)));
     	return true;
     }
+
+    /**
+     * Everyone signed up for at least one of the events a user is signed up for, each listed once. Only the user's
+     * own events are visited.
+     * @param userID id of the user
+     * @return the other attendees, in the order of the user's events and then of sign up
+     */
+    public Set<String> getFellowAttendees(String userID) {
+        Set<String> fellows = new LinkedHashSet<>();
+        for (Event e : this.getEventsByAttendee(userID)) {
+            synchronized (e) {
+                fellows.addAll(e.getAttendees());
+            }
+        }
+        fellows.remove(userID);
+        return fellows;
+    }
     
+    /**
+     * Looks rooms up in the RoomManager's registry from now on instead of this manager's own
+     * @param rooms registry the RoomManager keeps up to date
+     */
+    void setRoomRegistry(RoomRegistry rooms) {
+        this.rooms = rooms;
+    }
+
     @Override
     public void updateRoom(Room rm) {
-        if (!this.roomList.contains(rm)) {
-            this.roomList.add(rm);
-        }
+        this.rooms.add(rm);
     }
 
 
     public void removeRoomObs(Room rm){
-        if (this.roomList.contains(rm)) {
-            this.roomList.remove(rm);
-        }
+        this.rooms.remove(rm);
+    }
+
+    @Override
+    public synchronized boolean isRoomFree(String roomName, LocalDateTime start, LocalDateTime end) {
+        return this.roomSchedule.findOverlap(roomName, start, end) == null;
     }
 }
\ No newline at end of file
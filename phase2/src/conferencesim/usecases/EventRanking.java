@@ -0,0 +1,80 @@
+package conferencesim.usecases;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.ToIntFunction;
+
+import conferencesim.entities.eventpack.Event;
+
+/**
+ * Events ranked by a count, highest first and ties broken by eventID. Updating an event costs O(log n) and reading the
+ * top k costs O(k + log n), so the ranking can be kept live instead of recomputed from every event on each query.
+ * Safe to use from any thread.
+ */
+class EventRanking {
+
+    private final ToIntFunction<Event> count;
+    private final NavigableSet<Rank> ranks = new TreeSet<>();
+    // eventID -> the rank currently in ranks for that event, so it can be found again when the count changes
+    private final Map<String, Rank> byEventID = new HashMap<>();
+
+    /**
+     * @param count the number events are ranked by, e.g. their occupancy
+     */
+    EventRanking(ToIntFunction<Event> count) {
+        this.count = count;
+    }
+
+    private static class Rank implements Comparable<Rank> {
+        private final String eventID;
+        private final int count;
+
+        private Rank(String eventID, int count) {
+            this.eventID = eventID;
+            this.count = count;
+        }
+
+        @Override
+        public int compareTo(Rank o) {
+            int c = Integer.compare(o.count, this.count);
+            return c != 0 ? c : this.eventID.compareTo(o.eventID);
+        }
+    }
+
+    /**
+     * Adds an event, or moves it to the rank its count has now.
+     */
+    synchronized void update(Event event) {
+        Rank rank = new Rank(event.getEventID(), count.applyAsInt(event));
+        Rank old = byEventID.put(rank.eventID, rank);
+        if (old != null) {
+            ranks.remove(old);
+        }
+        ranks.add(rank);
+    }
+
+    synchronized void remove(Event event) {
+        Rank old = byEventID.remove(event.getEventID());
+        if (old != null) {
+            ranks.remove(old);
+        }
+    }
+
+    /**
+     * @param k how many events to return
+     * @return the IDs of the k highest ranked events, highest first; fewer if there are fewer events
+     */
+    synchronized List<String> top(int k) {
+        List<String> top = new ArrayList<>(Math.max(0, Math.min(k, ranks.size())));
+        Iterator<Rank> it = ranks.iterator();
+        while (top.size() < k && it.hasNext()) {
+            top.add(it.next().eventID);
+        }
+        return top;
+    }
+}
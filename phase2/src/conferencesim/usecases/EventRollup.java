@@ -0,0 +1,71 @@
+package conferencesim.usecases;
+
+/**
+ * Running totals over a group of events (a room, a day, a speaker): how many events, attendees and seats, plus a
+ * histogram of how full the events are. Events are added and removed with the values they had, so every figure is
+ * updated in constant time and read in constant time. Not thread-safe; EventStats guards it.
+ */
+class EventRollup {
+
+    // fill rate buckets 0-9%, 10-19%, ..., 90-99%, and 100% or more
+    private static final int BUCKETS = 11;
+
+    private int events;
+    private long attendees;
+    private long seats;
+    private final int[] fillHistogram = new int[BUCKETS];
+
+    void add(int occupancy, int capacity) {
+        events++;
+        attendees += occupancy;
+        seats += capacity;
+        fillHistogram[bucket(occupancy, capacity)]++;
+    }
+
+    void remove(int occupancy, int capacity) {
+        events--;
+        attendees -= occupancy;
+        seats -= capacity;
+        fillHistogram[bucket(occupancy, capacity)]--;
+    }
+
+    private static int bucket(int occupancy, int capacity) {
+        if (capacity <= 0) {
+            return 0;
+        }
+        return (int) Math.min(BUCKETS - 1, occupancy * 10L / capacity);
+    }
+
+    boolean isEmpty() {
+        return events == 0;
+    }
+
+    /**
+     * @param p percentile between 0 and 100
+     * @return the fill rate bucket holding the p-th percentile event, e.g. "60-69%"
+     */
+    String fillPercentile(int p) {
+        long rank = Math.max(1, (long) Math.ceil(events * p / 100.0));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += fillHistogram[b];
+            if (seen >= rank) {
+                return b == BUCKETS - 1 ? "100%" : (b * 10) + "-" + (b * 10 + 9) + "%";
+            }
+        }
+        return "100%";
+    }
+
+    /**
+     * @param label what the group is, e.g. "Room Hall"
+     * @return one line with the group's totals, seat utilization and median and 90th percentile fill rates
+     */
+    String describe(String label) {
+        if (events == 0) {
+            return label + ": no events";
+        }
+        return String.format("%s: %d events, %d/%d seats taken (%.1f%%), median fill %s, 90th percentile fill %s",
+                label, events, attendees, seats, seats == 0 ? 0.0 : attendees * 100.0 / seats, fillPercentile(50),
+                fillPercentile(90));
+    }
+}
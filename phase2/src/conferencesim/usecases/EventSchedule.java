@@ -0,0 +1,91 @@
+package conferencesim.usecases;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import conferencesim.entities.eventpack.Event;
+
+/**
+ * Groups events under a key (e.g. a room name) and keeps each group ordered by start time, so that overlap and
+ * "what is running at" queries are tree lookups instead of scans over every event.
+ * An event occupies the half-open interval [startTime, endTime).
+ */
+public class EventSchedule {
+
+    public static final Comparator<Event> BY_START =
+            Comparator.comparing(Event::getStartTime).thenComparing(Event::getEventID);
+
+    private final Map<String, Lane> lanes = new HashMap<>();
+
+    /**
+     * Events of one key, ordered for listing and in an interval tree for overlap searches.
+     */
+    private static class Lane {
+        private final NavigableSet<Event> events = new TreeSet<>(BY_START);
+        private final IntervalTree intervals = new IntervalTree();
+    }
+
+    /**
+     * Adds an event under the given key.
+     * @param key group the event belongs to
+     * @param event event to add
+     */
+    public void add(String key, Event event) {
+        Lane lane = lanes.computeIfAbsent(key, k -> new Lane());
+        lane.events.add(event);
+        lane.intervals.add(event);
+    }
+
+    /**
+     * Removes an event from the given key.
+     * @param key group the event belongs to
+     * @param event event to remove
+     */
+    public void remove(String key, Event event) {
+        Lane lane = lanes.get(key);
+        if (lane != null) {
+            lane.events.remove(event);
+            lane.intervals.remove(event);
+            if (lane.events.isEmpty()) {
+                lanes.remove(key);
+            }
+        }
+    }
+
+    /**
+     * @param key group to look up
+     * @return the events under key ordered by start time, empty if there are none
+     */
+    public NavigableSet<Event> getEvents(String key) {
+        Lane lane = lanes.get(key);
+        return (lane == null) ? Collections.emptyNavigableSet() : Collections.unmodifiableNavigableSet(lane.events);
+    }
+
+    /**
+     * Finds an event under key overlapping [start, end).
+     * @return an overlapping event, or null if the interval is free
+     */
+    public Event findOverlap(String key, LocalDateTime start, LocalDateTime end) {
+        List<Event> overlaps = this.getOverlaps(key, start, end, 1);
+        return overlaps.isEmpty() ? null : overlaps.get(0);
+    }
+
+    /**
+     * @return the events under key that are running at time, ordered by start time
+     */
+    public List<Event> getEventsAt(String key, LocalDateTime time) {
+        return this.getOverlaps(key, time, time.plusNanos(1), Integer.MAX_VALUE);
+    }
+
+    private List<Event> getOverlaps(String key, LocalDateTime start, LocalDateTime end, int limit) {
+        Lane lane = lanes.get(key);
+        return (lane == null) ? new ArrayList<>() : lane.intervals.getOverlaps(start, end, null, limit);
+    }
+}
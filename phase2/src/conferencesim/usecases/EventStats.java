@@ -2,40 +2,202 @@ package conferencesim.usecases;
 
 import java.io.Serializable;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import conferencesim.entities.eventpack.Event;
 
-public class EventStats extends EventManager implements Serializable {
+public class EventStats extends EventManager implements Serializable, EventUpdater {
 
 
     List<Event> eventList;
 
-    public EventStats(List<Event> eventList){
-        this.eventList = eventList;
+    // live rankings, kept up to date by the EventManager these stats were created for
+    private final transient EventRanking byAttendance = new EventRanking(Event::getEventOccupancy);
+    private final transient EventRanking bySpeakers = new EventRanking(e -> e.getSpeakers().size());
+
+    private final transient EventManager source;
+    // rollups per room, per day and per speaker, guarded by this
+    private final transient Map<String, EventRollup> byRoom = new HashMap<>();
+    private final transient Map<LocalDate, EventRollup> byDay = new HashMap<>();
+    private final transient Map<String, EventRollup> bySpeaker = new HashMap<>();
+    // eventID -> what each event was added to the rollups with, so it can be taken out again
+    private final transient Map<String, Tracked> tracked = new HashMap<>();
+    // sign ups and cancellations in each of the last 60 minutes, indexed by minute % 60
+    private final transient long[] minuteOf = new long[60];
+    private final transient int[] signUpsPerMinute = new int[60];
+    private final transient int[] cancelsPerMinute = new int[60];
+    private long totalSignUps;
+    private long totalCancels;
+
+    private static class Tracked {
+        private final String room;
+        private final LocalDate day;
+        private final List<String> speakers;
+        private final int occupancy;
+        private final int capacity;
+
+        private Tracked(Event event, int capacity) {
+            this.room = event.getLocation();
+            this.day = event.getStartTime().toLocalDate();
+            this.speakers = speakersOf(event);
+            this.occupancy = event.getEventOccupancy();
+            this.capacity = capacity;
+        }
     }
 
     /**
-     * Gets the most popular event
-     * @return eventID of the event with currently the most attendees signed up.
+     * Creates stats over the events of an EventManager, which keeps them up to date from then on
+     * @param em manager whose events to rank
      */
-    public void mostAttended() {
+    public EventStats(EventManager em){
+        this.source = em;
+        synchronized (em) {
+            em.addEventUpdater(this);
+            this.eventList = em.getEventList();
+            for (Event e : this.eventList) {
+                this.eventAdded(e);
+            }
+        }
+    }
 
-        int j = -1;
-        String eventId = "No events yet";
+    @Override
+    public void eventAdded(Event event) {
+        byAttendance.update(event);
+        bySpeakers.update(event);
+        synchronized (this) {
+            this.track(event);
+        }
+    }
 
-        for(Event e: this.eventList){
-            if(j > e.getAttendees().size()){
-                continue;
+    @Override
+    public void eventRemoved(Event event) {
+        byAttendance.remove(event);
+        bySpeakers.remove(event);
+        synchronized (this) {
+            this.untrack(event.getEventID());
+        }
+    }
+
+    @Override
+    public void attendeesChanged(Event event) {
+        byAttendance.update(event);
+        synchronized (this) {
+            Tracked old = this.untrack(event.getEventID());
+            Tracked now = this.track(event);
+            int change = now.occupancy - (old == null ? 0 : old.occupancy);
+            int slot = this.currentMinute();
+            if (change > 0) {
+                signUpsPerMinute[slot] += change;
+                totalSignUps += change;
+            } else if (change < 0) {
+                cancelsPerMinute[slot] -= change;
+                totalCancels -= change;
             }
+        }
+    }
+
+    private Tracked track(Event event) {
+        Tracked t = new Tracked(event, source.capacityOf(event));
+        Tracked old = tracked.put(event.getEventID(), t);
+        if (old != null) {
+            this.rollups(old).forEach(r -> r.remove(old.occupancy, old.capacity));
+        }
+        this.rollups(t).forEach(r -> r.add(t.occupancy, t.capacity));
+        return t;
+    }
+
+    private Tracked untrack(String eventID) {
+        Tracked old = tracked.remove(eventID);
+        if (old != null) {
+            this.rollups(old).forEach(r -> r.remove(old.occupancy, old.capacity));
+        }
+        return old;
+    }
+
+    /**
+     * @return the room, day and speaker rollups an event counts towards, created if missing
+     */
+    private List<EventRollup> rollups(Tracked t) {
+        List<EventRollup> rollups = new ArrayList<>(2 + t.speakers.size());
+        rollups.add(byRoom.computeIfAbsent(t.room, k -> new EventRollup()));
+        rollups.add(byDay.computeIfAbsent(t.day, k -> new EventRollup()));
+        for (String speakerID : t.speakers) {
+            rollups.add(bySpeaker.computeIfAbsent(speakerID, k -> new EventRollup()));
+        }
+        return rollups;
+    }
+
+    /**
+     * @return the slot of the current minute, cleared first if it still holds counts from an hour or more ago
+     */
+    private int currentMinute() {
+        long minute = System.currentTimeMillis() / 60000;
+        int slot = (int) (minute % 60);
+        if (minuteOf[slot] != minute) {
+            minuteOf[slot] = minute;
+            signUpsPerMinute[slot] = 0;
+            cancelsPerMinute[slot] = 0;
+        }
+        return slot;
+    }
+
+    /**
+     * Shows attendance figures for a room
+     * @param roomName room to describe
+     */
+    public synchronized void roomStats(String roomName) {
+        view.callView().print(this.describe(byRoom.get(roomName), "Room " + roomName));
+    }
+
+    /**
+     * Shows attendance figures for the events starting on a day
+     * @param day day to describe
+     */
+    public synchronized void dayStats(LocalDate day) {
+        view.callView().print(this.describe(byDay.get(day), "Day " + day));
+    }
+
+    /**
+     * Shows attendance figures for the events a speaker presents
+     * @param speakerID speaker to describe
+     */
+    public synchronized void speakerStats(String speakerID) {
+        view.callView().print(this.describe(bySpeaker.get(speakerID), "Speaker " + speakerID));
+    }
 
-            j = e.getAttendees().size();
-            eventId = e.getEventID();
+    private String describe(EventRollup rollup, String label) {
+        return rollup == null ? label + ": no events" : rollup.describe(label);
+    }
+
+    /**
+     * Shows how many sign ups and cancellations there were in the last hour and since the program started
+     */
+    public synchronized void signUpRate() {
+        long minute = System.currentTimeMillis() / 60000;
+        long signUps = 0;
+        long cancels = 0;
+        for (int slot = 0; slot < 60; slot++) {
+            if (minute - minuteOf[slot] < 60) {
+                signUps += signUpsPerMinute[slot];
+                cancels += cancelsPerMinute[slot];
+            }
         }
+        view.callView().print(String.format("Last hour: %d sign ups, %d cancellations. Since start: %d sign ups, "
+                + "%d cancellations", signUps, cancels, totalSignUps, totalCancels));
+    }
 
-        view.callView().print(eventId);
+    /**
+     * Gets the most popular event
+     * @return eventID of the event with currently the most attendees signed up.
+     */
+    public void mostAttended() {
+        List<String> top = byAttendance.top(1);
+        view.callView().print(top.isEmpty() ? "No events yet" : top.get(0));
     }
 
 //    /**
@@ -112,72 +274,33 @@ public class EventStats extends EventManager implements Serializable {
      */
 
     public String eventWithMostSpeakers() {
-
-        int i = -1;
-        String event = "No events yet";
-
-        for(Event e: this.eventList){
-            if(i > e.getSpeakers().size()){
-                continue;
-            }
-
-            i = e.getSpeakers().size();
-            event = e.getEventID();
-        }
-
+        List<String> top = bySpeakers.top(1);
+        String event = top.isEmpty() ? "No events yet" : top.get(0);
         view.callView().print(event);
         return event;
     }
 
     /**
-     * Gets the eventID of the most attended event and removes it from the event list
-     * @return eventID of event with most attended
+     * Returns a list of the top 5 most attended events
+     * @return list of eventIDs of the 5 most attended events
      */
 
-    public String topFiveAttendedHelper() {
-
-        int j = -1;
-        String rankOne = "No events yet";
-
-        List<Event> lst = new ArrayList<>();
-        lst =  this.eventList;
-
-        for(Event e: lst){
-            if(j > e.getAttendees().size()){
-                continue;
-            }
-
-            j = e.getAttendees().size();
-            rankOne = e.getEventID();
-            lst.remove(rankOne);
-
-        }
-
-        return rankOne;
+    public List<String> topFiveAttended() {
+        return this.topAttended(5);
     }
 
     /**
-     * Returns a list of the top 5 most attended events
-     * @return list of eventIDs of the 5 most attended events
+     * Returns the most attended events, most attended first
+     * @param k number of events to list
+     * @return list of eventIDs of the k most attended events, fewer if there are fewer events
      */
-
-    public List<String> topFiveAttended() {
-        String rankOne = topFiveAttendedHelper();
-        String rankTwo = topFiveAttendedHelper();
-        String rankThree =  topFiveAttendedHelper();
-        String rankFour = topFiveAttendedHelper();
-        String rankFive = topFiveAttendedHelper();
-
-        List<String> topFive = new ArrayList<String>();
-        topFive.add(rankOne);
-        topFive.add(rankTwo);
-        topFive.add(rankThree);
-        topFive.add(rankFour);
-        topFive.add(rankFive);
-
-        for(String rank:topFive){
-            view.callView().print(rank);
+    public List<String> topAttended(int k) {
+        List<String> top = byAttendance.top(k);
+        if (top.isEmpty()) {
+            view.callView().print("No events yet");
+        } else {
+            view.callView().printList(top);
         }
-        return topFive;
+        return top;
     }
 }
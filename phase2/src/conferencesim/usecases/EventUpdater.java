@@ -0,0 +1,13 @@
+package conferencesim.usecases;
+
+import conferencesim.entities.eventpack.Event;
+
+/**
+ * Told by EventManager whenever an event is added or removed, or someone signs up for or cancels an event. Attendee
+ * changes are reported while the event's lock is held, so they arrive in the order they happened for each event.
+ */
+public interface EventUpdater {
+    void eventAdded(Event event);
+    void eventRemoved(Event event);
+    void attendeesChanged(Event event);
+}
@@ -0,0 +1,226 @@
+package conferencesim.usecases;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import conferencesim.entities.eventpack.Event;
+
+/**
+ * Friendships between the users of a UserManager, read straight from each user's friends set, plus queries over
+ * them. Friendships go both ways, so adding or removing one updates both users' sets, and friendships only one side
+ * lists, e.g. in older saves, are made mutual when the graph is created. The friends sets are guarded by the
+ * UserManager's lock, which is held while they are read or both sides are changed.
+ */
+public class FriendGraph extends Usecase {
+
+    private final UserManager um;
+    private final EventManager em;
+
+    /**
+     * A user suggested as a friend, with what they have in common with the user they were suggested to
+     */
+    public static class Suggestion {
+        private final String userID;
+        private int mutualFriends;
+        private int sharedEvents;
+
+        private Suggestion(String userID) {
+            this.userID = userID;
+        }
+
+        public String getUserID() {
+            return userID;
+        }
+
+        public int getMutualFriends() {
+            return mutualFriends;
+        }
+
+        public int getSharedEvents() {
+            return sharedEvents;
+        }
+
+        @Override
+        public String toString() {
+            return userID + " (" + mutualFriends + " mutual friends, " + sharedEvents + " shared events)";
+        }
+    }
+
+    // most mutual friends first, then most shared events, then by id
+    private static final Comparator<Suggestion> BEST_FIRST = Comparator
+            .comparingInt(Suggestion::getMutualFriends).reversed()
+            .thenComparing(Comparator.comparingInt(Suggestion::getSharedEvents).reversed())
+            .thenComparing(Suggestion::getUserID);
+
+    /**
+     * @param um manager whose users' friends make up the graph
+     * @param em manager whose events count towards suggestions
+     */
+    public FriendGraph(UserManager um, EventManager em) {
+        this.um = um;
+        this.em = em;
+        um.makeFriendshipsMutual();
+    }
+
+    /**
+     * Makes two users friends of each other
+     * @param userID id of the user adding the friend
+     * @param friendID id of the user being added
+     * @return true if they were not friends yet
+     */
+    public boolean addFriendship(String userID, String friendID) {
+        if (!um.hasUser(friendID)) {
+            eView.callView().UserNotFound();
+            return false;
+        }
+        if (userID.equals(friendID)) {
+            view.print("You cannot add yourself as a friend");
+            return false;
+        }
+        synchronized (um) {
+            if (um.getFriendIDs(userID).contains(friendID)) {
+                view.print("[Warning] Username already in messaging list, skipping...");
+                return false;
+            }
+            um.addFriend(userID, friendID, true);
+            if (!um.getFriendIDs(friendID).contains(userID)) {
+                um.addFriend(friendID, userID, false);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ends a friendship between two users on both sides
+     * @param userID id of the user removing the friend
+     * @param friendID id of the user being removed
+     * @return true if they were friends
+     */
+    public boolean removeFriendship(String userID, String friendID) {
+        synchronized (um) {
+            if (!um.getFriendIDs(userID).contains(friendID)) {
+                view.print("No such friend found...");
+                return false;
+            }
+            um.deleteUserFriend(userID, friendID, true);
+            if (um.getFriendIDs(friendID).contains(userID)) {
+                um.deleteUserFriend(friendID, userID, false);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Friends two users have in common. Only the smaller of the two friends sets is walked.
+     * @return the common friends, in the order the smaller set lists them
+     */
+    public Set<String> getMutualFriends(String userID, String otherID) {
+        synchronized (um) {
+            Set<String> a = um.getFriendIDs(userID);
+            Set<String> b = um.getFriendIDs(otherID);
+            if (a.size() > b.size()) {
+                Set<String> t = a;
+                a = b;
+                b = t;
+            }
+            Set<String> mutual = new LinkedHashSet<>();
+            for (String id : a) {
+                if (b.contains(id)) {
+                    mutual.add(id);
+                }
+            }
+            return mutual;
+        }
+    }
+
+    /**
+     * Prints the friends two users have in common
+     */
+    public void viewMutualFriends(String userID, String otherID) {
+        if (!um.hasUser(otherID)) {
+            eView.callView().UserNotFound();
+            return;
+        }
+        Set<String> mutual = this.getMutualFriends(userID, otherID);
+        view.printList(new ArrayList<>(mutual));
+        view.print("You have " + mutual.size() + " mutual friends with " + otherID);
+    }
+
+    /**
+     * People a user may know: friends of their friends and people signed up for the same events, who are not their
+     * friends yet. Only the user's friends' friends sets and the user's own events are visited.
+     * @param userID id of the user
+     * @param count most suggestions to return
+     * @return up to count suggestions, best first
+     */
+    public List<Suggestion> suggestFriends(String userID, int count) {
+        if (count < 1) {
+            return new ArrayList<>();
+        }
+        Set<String> friends;
+        Map<String, Suggestion> candidates = new HashMap<>();
+        synchronized (um) {
+            friends = new HashSet<>(um.getFriendIDs(userID));
+            for (String friendID : friends) {
+                for (String id : um.getFriendIDs(friendID)) {
+                    if (!id.equals(userID) && !friends.contains(id)) {
+                        candidates.computeIfAbsent(id, Suggestion::new).mutualFriends++;
+                    }
+                }
+            }
+        }
+        for (Event e : em.getEventsByAttendee(userID)) {
+            synchronized (e) {
+                for (String id : e.getAttendees()) {
+                    if (!id.equals(userID) && !friends.contains(id)) {
+                        candidates.computeIfAbsent(id, Suggestion::new).sharedEvents++;
+                    }
+                }
+            }
+        }
+        // the worst of the best count suggestions so far sits on top, ready to be replaced
+        PriorityQueue<Suggestion> best = new PriorityQueue<>(count + 1, BEST_FIRST.reversed());
+        for (Suggestion s : candidates.values()) {
+            if (!um.hasUser(s.getUserID())) {
+                continue;
+            }
+            if (best.size() < count) {
+                best.add(s);
+            } else if (BEST_FIRST.compare(s, best.peek()) < 0) {
+                best.poll();
+                best.add(s);
+            }
+        }
+        List<Suggestion> result = new ArrayList<>(best);
+        Collections.sort(result, BEST_FIRST);
+        return result;
+    }
+
+    /**
+     * Prints up to count people a user may know, with what they have in common
+     */
+    public void viewSuggestedFriends(String userID, int count) {
+        if (count < 1) {
+            view.print("The number of suggestions must be at least 1");
+            return;
+        }
+        List<Suggestion> suggestions = this.suggestFriends(userID, count);
+        if (suggestions.isEmpty()) {
+            view.print("No suggestions yet, add some friends or sign up for events first");
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        for (Suggestion s : suggestions) {
+            lines.add(s.toString());
+        }
+        view.printList(lines);
+    }
+}
@@ -0,0 +1,175 @@
+package conferencesim.usecases;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import conferencesim.entities.eventpack.Event;
+
+/**
+ * Events ordered by (startTime, eventID) in a randomized balanced tree where every node also knows the latest end
+ * time below it. Overlap queries skip every subtree that ends too early, so they cost about log n plus the number of
+ * events reported, however long any one event is. An event occupies the half-open interval [startTime, endTime).
+ */
+class IntervalTree {
+
+    private static class Node {
+        private final Event event;
+        private final int priority;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(Event event, int priority) {
+            this.event = event;
+            this.priority = priority;
+            this.maxEnd = event.getEndTime();
+        }
+    }
+
+    private final Random random = new Random();
+    private Node root;
+    private int size;
+
+    /**
+     * @return true if the tree holds no events
+     */
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Adds an event, doing nothing if it is already in the tree.
+     * @return true if the event was added
+     */
+    boolean add(Event event) {
+        int before = this.size;
+        this.root = this.insert(this.root, event);
+        return this.size != before;
+    }
+
+    /**
+     * Removes an event, doing nothing if it is not in the tree.
+     * @return true if the event was removed
+     */
+    boolean remove(Event event) {
+        int before = this.size;
+        this.root = this.delete(this.root, event);
+        return this.size != before;
+    }
+
+    /**
+     * Finds the events overlapping [start, end) that come after a given event.
+     * @param after only events ordered after this one are returned, null for no bound
+     * @param limit most events to return
+     * @return the overlapping events, ordered by start time
+     */
+    List<Event> getOverlaps(LocalDateTime start, LocalDateTime end, Event after, int limit) {
+        List<Event> overlaps = new ArrayList<>();
+        if (start.isBefore(end) && limit > 0) {
+            this.collect(this.root, start, end, after, limit, overlaps);
+        }
+        return overlaps;
+    }
+
+    private void collect(Node node, LocalDateTime start, LocalDateTime end, Event after, int limit,
+                         List<Event> out) {
+        if (node == null || out.size() >= limit || !node.maxEnd.isAfter(start)) {
+            return;
+        }
+        // everything left of an event at or before the bound is before it too
+        boolean skipped = after != null && EventSchedule.BY_START.compare(node.event, after) <= 0;
+        if (!skipped) {
+            this.collect(node.left, start, end, after, limit, out);
+        }
+        if (out.size() >= limit) {
+            return;
+        }
+        Event e = node.event;
+        if (!e.getStartTime().isBefore(end)) {
+            // this event and everything right of it start too late
+            return;
+        }
+        if (!skipped && e.getEndTime().isAfter(start)) {
+            out.add(e);
+        }
+        this.collect(node.right, start, end, after, limit, out);
+    }
+
+    private Node insert(Node node, Event event) {
+        if (node == null) {
+            this.size++;
+            return new Node(event, this.random.nextInt());
+        }
+        int cmp = EventSchedule.BY_START.compare(event, node.event);
+        if (cmp < 0) {
+            node.left = this.insert(node.left, event);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else if (cmp > 0) {
+            node.right = this.insert(node.right, event);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node delete(Node node, Event event) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = EventSchedule.BY_START.compare(event, node.event);
+        if (cmp < 0) {
+            node.left = this.delete(node.left, event);
+        } else if (cmp > 0) {
+            node.right = this.delete(node.right, event);
+        } else if (node.left == null) {
+            this.size--;
+            return node.right;
+        } else if (node.right == null) {
+            this.size--;
+            return node.left;
+        } else if (node.left.priority > node.right.priority) {
+            node = rotateRight(node);
+            node.right = this.delete(node.right, event);
+        } else {
+            node = rotateLeft(node);
+            node.left = this.delete(node.left, event);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node top = node.left;
+        node.left = top.right;
+        top.right = node;
+        update(node);
+        update(top);
+        return top;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node top = node.right;
+        node.right = top.left;
+        top.left = node;
+        update(node);
+        update(top);
+        return top;
+    }
+
+    private static void update(Node node) {
+        LocalDateTime maxEnd = node.event.getEndTime();
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+}
@@ -0,0 +1,18 @@
+package conferencesim.usecases;
+
+import java.util.List;
+
+import conferencesim.entities.Message;
+import conferencesim.entities.MessageBody;
+import conferencesim.entities.MessageState;
+
+/**
+ * Receives every change Messenger makes to its messages, as it happens, so the changes can be persisted one at a time.
+ */
+public interface MessageJournal {
+    void messageAdded(Message m, MessageState state);
+    // every message is new, in its recipient's inbox, and refers to body
+    void messagesBroadcast(MessageBody body, List<Message> messages);
+    void messageMoved(String messageID, MessageState state);
+    void messagePurged(String messageID);
+}
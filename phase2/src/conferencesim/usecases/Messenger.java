@@ -1,26 +1,75 @@
 package conferencesim.usecases;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import conferencesim.entities.Mailbox;
 import conferencesim.entities.Message;
+import conferencesim.entities.MessageBody;
+import conferencesim.entities.MessageState;
 
 public class Messenger extends Usecase implements Serializable {
 
     private static final long serialVersionUID = 1L;
-    private List<Message> messageList;
-    private List<Message> inboxList;
-    private List<Message> trashList;
+    // every field is guarded by this
+    // messageID -> message, for every message that has not been permanently deleted
+    private Map<String, Message> messages;
+    // messageID -> where the message sits in its recipient's mailbox
+    private Map<String, MessageState> states;
+    // receiver userID -> messages received by that user, rebuilt from the two maps above after deserialization
+    private transient Map<String, Mailbox> mailboxes;
+    // told about every change so it can be persisted, null if nothing is listening
+    private transient MessageJournal journal;
 
     /**
      * Creates an empty Messenger
      */
     public Messenger() {
-        this.messageList = new ArrayList<>();
-        this.inboxList = new ArrayList<>();
-        this.trashList = new ArrayList<>();
+        this.messages = new HashMap<>();
+        this.states = new HashMap<>();
+        this.mailboxes = new HashMap<>();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        Map<String, Message> saved = (Map<String, Message>) fields.get("messages", null);
+        Map<String, MessageState> savedStates = (Map<String, MessageState>) fields.get("states", null);
+        this.messages = new HashMap<>();
+        this.states = new HashMap<>();
+        this.mailboxes = new HashMap<>();
+        if (saved != null) {
+            for (Message m : saved.values()) {
+                this.store(m, savedStates.get(m.getMessageID()));
+            }
+        } else {
+            // Saved before message states existed: messageList holds inbox and archived messages
+            List<Message> inboxList = (List<Message>) fields.get("inboxList", new ArrayList<Message>());
+            for (Message m : (List<Message>) fields.get("messageList", new ArrayList<Message>())) {
+                this.store(m, inboxList.contains(m) ? MessageState.INBOX : MessageState.ARCHIVED);
+            }
+            for (Message m : (List<Message>) fields.get("trashList", new ArrayList<Message>())) {
+                this.store(m, MessageState.TRASH);
+            }
+        }
+    }
+
+    /**
+     * Sets the journal that is told about every change from now on.
+     * @param journal journal to notify, or null to stop journaling
+     */
+    public void setMessageJournal(MessageJournal journal) {
+        this.journal = journal;
     }
 
     /**
@@ -29,29 +78,171 @@ public class Messenger extends Usecase implements Serializable {
      * @param receiver of the message.
      * @param content of the message.
      */
-    public void makeMessage(String sender, String receiver, String content) {
+    public synchronized void makeMessage(String sender, String receiver, String content) {
         Message m =  new Message(sender, receiver, content);
-        this.messageList.add(m);
-        this.inboxList.add(m);
+        this.file(m, MessageState.INBOX);
         view.callView().print("Successfully messaged " + receiver + ". MessageID is " + m.getMessageID());
     }
 
-    private List<Message> getMessageList() {
-        return this.messageList;
+    /**
+     * Sends the same content to every recipient. The sender, content and send time are stored once in a MessageBody
+     * that every recipient's Message refers to, the journal gets a single record, and a single summary is printed
+     * instead of one line per recipient.
+     * @param sender of the message.
+     * @param recipients user ids of everyone receiving the message.
+     * @param content of the message.
+     * @return the number of recipients messaged.
+     */
+    public synchronized int broadcastMessage(String sender, Collection<String> recipients, String content) {
+        MessageBody body = new MessageBody(sender, content, LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
+        List<Message> sent = new ArrayList<>(recipients.size());
+        for (String receiver : recipients) {
+            Message m = new Message(body, receiver);
+            this.store(m, MessageState.INBOX);
+            sent.add(m);
+        }
+        if (this.journal != null && !sent.isEmpty()) {
+            this.journal.messagesBroadcast(body, sent);
+        }
+        view.callView().print("Successfully messaged " + sent.size() + " users");
+        return sent.size();
+    }
+
+    /**
+     * @return every message that has not been permanently deleted, in no particular order; hold this manager's lock
+     * while using it
+     */
+    public synchronized Collection<Message> getMessages() {
+        return Collections.unmodifiableCollection(this.messages.values());
     }
 
-    private List<Message> getInboxList() {
-        return this.inboxList;
+    /**
+     * @param messageID id of the message
+     * @return where the message sits in its recipient's mailbox, null if there is no such message
+     */
+    public synchronized MessageState getMessageState(String messageID) {
+        return this.states.get(messageID);
     }
 
-    private List<Message> getTrashList() {return this.trashList; }
+    /**
+     * Puts a saved message back in the given state without printing anything or notifying the journal.
+     * @param m message to restore
+     * @param state state the message was saved in
+     */
+    public synchronized void restoreMessage(Message m, MessageState state) {
+        this.store(m, state);
+    }
 
-    public Message getMessageByID(String messageID) {
-        for (Message m: this.getMessageList()) {
-            if (m.getMessageID().equals(messageID)) {
-                return m;
+    /**
+     * Moves a restored message to another state without printing anything or notifying the journal.
+     * @param messageID id of the message
+     * @param state state to move it to
+     */
+    public synchronized void restoreMessageState(String messageID, MessageState state) {
+        Message m = this.messages.get(messageID);
+        if (m != null) {
+            this.store(m, state);
+        }
+    }
+
+    /**
+     * Drops a restored message without printing anything or notifying the journal.
+     * @param messageID id of the message
+     */
+    public synchronized void restorePurge(String messageID) {
+        Message m = this.messages.get(messageID);
+        if (m != null) {
+            this.remove(m);
+        }
+    }
+
+    private Mailbox getMailbox(String userID) {
+        return this.mailboxes.computeIfAbsent(userID, Mailbox::new);
+    }
+
+    /**
+     * Stores m in the given state, replacing whatever state it had, and tells the journal.
+     */
+    private void file(Message m, MessageState state) {
+        MessageState old = this.store(m, state);
+        if (this.journal != null) {
+            if (old == null) {
+                this.journal.messageAdded(m, state);
+            } else {
+                this.journal.messageMoved(m.getMessageID(), state);
             }
         }
+    }
+
+    /**
+     * Stores m in the given state, replacing whatever state it had.
+     * @return the state m had before, null if it is new
+     */
+    private MessageState store(Message m, MessageState state) {
+        Mailbox box = this.getMailbox(m.getReceiverUserID());
+        MessageState old = this.states.put(m.getMessageID(), state);
+        if (old != null) {
+            box.getFolder(old).remove(m);
+        }
+        this.messages.put(m.getMessageID(), m);
+        box.getFolder(state).add(m);
+        return old;
+    }
+
+    private void remove(Message m) {
+        MessageState old = this.states.remove(m.getMessageID());
+        if (old != null) {
+            this.getMailbox(m.getReceiverUserID()).getFolder(old).remove(m);
+        }
+        this.messages.remove(m.getMessageID());
+    }
+
+    /**
+     * Moves m to state to if it is currently in one of the from states.
+     * @return true if the message was moved, false if it is unknown or in another state
+     */
+    private boolean move(Message m, MessageState to, MessageState... from) {
+        if (m == null || !Arrays.asList(from).contains(this.states.get(m.getMessageID()))) {
+            return false;
+        }
+        this.file(m, to);
+        return true;
+    }
+
+    /**
+     * Moves every message a user has in state from to state to.
+     */
+    private void moveAll(String userID, MessageState from, MessageState to) {
+        for (Message m : new ArrayList<>(this.getMailbox(userID).getFolder(from))) {
+            this.file(m, to);
+        }
+    }
+
+    /**
+     * Drops m from this Messenger for good.
+     */
+    private boolean purge(Message m) {
+        if (m == null || this.states.get(m.getMessageID()) != MessageState.TRASH) {
+            return false;
+        }
+        this.remove(m);
+        if (this.journal != null) {
+            this.journal.messagePurged(m.getMessageID());
+        }
+        return true;
+    }
+
+    /**
+     * Finds a message received by a user, whether it is in their inbox, archived or in their trash.
+     * @param userID id of the recipient.
+     * @param messageID id of the message.
+     * @return the message if found, null otherwise.
+     */
+    public synchronized Message getMessageByID(String userID, String messageID) {
+        Message m = this.messages.get(messageID);
+        if (m != null && m.getReceiverUserID().equals(userID)) {
+            return m;
+        }
         eView.callView().messageDoesNotExist();
         return null;
     }
@@ -63,17 +254,8 @@ public class Messenger extends Usecase implements Serializable {
      * @return true if the messenger contains the message and the message is removed from the messenger else, return
      * false
      */
-    public boolean deleteMessage(Message m) {
-        if (this.messageList.contains(m) & this.inboxList.contains(m)) {
-            this.messageList.remove(m);
-            this.inboxList.remove(m);
-            this.trashList.add(m);
-            view.callView().print("Successful!");
-            return true;
-        }
-        else if (this.messageList.contains(m) & !this.inboxList.contains(m)) {
-            this.messageList.remove(m);
-            this.trashList.add(m);
+    public synchronized boolean deleteMessage(Message m) {
+        if (this.move(m, MessageState.TRASH, MessageState.INBOX, MessageState.ARCHIVED)) {
             view.callView().print("Successful!");
             return true;
         }
@@ -84,42 +266,31 @@ public class Messenger extends Usecase implements Serializable {
     }
 
     /**
-     * Delete all messages from the inbox list by moving them into the trash.
+     * Delete all messages from a user's inbox list by moving them into the trash.
+     * @param userID id of the recipient.
      */
-    public void deleteAllMessagesInbox() {
-        this.trashList.addAll(inboxList);
-        for (Message m : inboxList) {
-            messageList.remove(m);
-        }
-
-        this.inboxList.clear();
+    public synchronized void deleteAllMessagesInbox(String userID) {
+        this.moveAll(userID, MessageState.INBOX, MessageState.TRASH);
         view.callView().print("Successful!");
     }
 
     /**
-     * Delete all messages from both the message list and inbox list by moving them into the trash.
+     * Delete all messages from both a user's message list and inbox list by moving them into the trash.
+     * @param userID id of the recipient.
      */
-    public void deleteAllMessagesMessageList() {
-        this.trashList.addAll(messageList);
-        this.messageList.clear();
-        this.inboxList.clear();
+    public synchronized void deleteAllMessagesMessageList(String userID) {
+        this.moveAll(userID, MessageState.INBOX, MessageState.TRASH);
+        this.moveAll(userID, MessageState.ARCHIVED, MessageState.TRASH);
         view.callView().print("Successful!");
     }
 
     /**
-     * Retrieve a deleted message from the trash list back into the inboxList and messageList and return true. Else,
-     * return false
+     * Retrieve a deleted message from the trash list back into the inbox and return true. Else, return false
      * @param m message to be retrieved
-     * @return true if a deleted message from the trash list is retrieved into the inboxList and messageList else,
-     * return false
+     * @return true if a deleted message from the trash list is retrieved into the inbox else, return false
      */
-    public boolean retrieveDeletedMessage(Message m) {
-        if (this.trashList.contains(m) & !this.inboxList.contains(m) & !this.messageList.contains(m)) {
-            this.trashList.remove(m);
-            this.inboxList.add(m);
-            this.messageList.add(m);
-            Collections.sort(inboxList);
-            Collections.sort(messageList);
+    public synchronized boolean retrieveDeletedMessage(Message m) {
+        if (this.move(m, MessageState.INBOX, MessageState.TRASH)) {
             view.callView().print("Successfully retrieved");
             return true;
         } else {
@@ -133,9 +304,8 @@ public class Messenger extends Usecase implements Serializable {
      * @param m message to be archived
      * @return true if message is archived, else return false.
      */
-    public boolean archiveMessage(Message m) {
-        if (this.inboxList.contains(m)) {
-            this.inboxList.remove(m);
+    public synchronized boolean archiveMessage(Message m) {
+        if (this.move(m, MessageState.ARCHIVED, MessageState.INBOX)) {
             view.callView().print("Successful!");
             return true;
         } else {
@@ -145,14 +315,12 @@ public class Messenger extends Usecase implements Serializable {
     }
 
     /**
-     * Mark a message unread by moving out of the messageList and back to the inbox
+     * Mark an archived message unread by moving it back to the inbox
      * @param m message to be unread
      * @return true if message is marked unread, else return false.
      */
-    public boolean unreadMessage(Message m) {
-        if (this.messageList.contains(m) & !this.inboxList.contains(m)) {
-            this.messageList.remove(m);
-            this.inboxList.add(m);
+    public synchronized boolean unreadMessage(Message m) {
+        if (this.move(m, MessageState.INBOX, MessageState.ARCHIVED)) {
             view.callView().print("Successful!");
             return true;
         } else {
@@ -162,10 +330,11 @@ public class Messenger extends Usecase implements Serializable {
     }
 
     /**
-     * Archive all messages in the inboxList.
+     * Archive all messages in a user's inbox.
+     * @param userID id of the recipient.
      */
-    public void archiveAllMessages() {
-        this.inboxList.clear();
+    public synchronized void archiveAllMessages(String userID) {
+        this.moveAll(userID, MessageState.INBOX, MessageState.ARCHIVED);
         view.callView().print("Successful!");
     }
 
@@ -174,9 +343,8 @@ public class Messenger extends Usecase implements Serializable {
      * @param m message to be unarchived
      * @return true if the message can be unarchived. Else return false.
      */
-    public boolean unarchiveMessage(Message m) {
-        if (this.messageList.contains(m) & !this.inboxList.contains(m)) {
-            this.inboxList.add(m);
+    public synchronized boolean unarchiveMessage(Message m) {
+        if (this.move(m, MessageState.INBOX, MessageState.ARCHIVED)) {
             view.callView().print("Successful!");
             return true;
         } else {
@@ -191,9 +359,8 @@ public class Messenger extends Usecase implements Serializable {
      * @param m message to be permanantly deleted
      * @return true if message is removed from trash list else, return false.
      */
-    public boolean permanentlyDeleteMessage(Message m) {
-        if (this.trashList.contains(m)) {
-            this.trashList.remove(m);
+    public synchronized boolean permanentlyDeleteMessage(Message m) {
+        if (this.purge(m)) {
             view.callView().print("Successful!");
             return true;
         } else {
@@ -203,80 +370,52 @@ public class Messenger extends Usecase implements Serializable {
     }
 
     /**
-     * Permanantly deletes all messages from the trash.
+     * Permanantly deletes all messages from a user's trash.
+     * @param userID id of the recipient.
      */
-    public void permanentlyDeleteAllMessages() {
-        this.trashList.clear();
-    }
-
-    private List<Message> getAllMessagesByRecipient(String recipID) {
-        List<Message> messagesByRecipient = new ArrayList<>();
-        for (Message m: this.getMessageList()) {
-            if (m.getReceiverUserID().equals(recipID)) {
-                messagesByRecipient.add(m);
-            }
+    public synchronized void permanentlyDeleteAllMessages(String userID) {
+        for (Message m : new ArrayList<>(this.getMailbox(userID).getFolder(MessageState.TRASH))) {
+            this.purge(m);
         }
-        view.callView().print("Successful!");
-        return messagesByRecipient;
     }
 
-    public void getAllMessages(String userID) {
-
-        if(this.getAllMessagesByRecipient(userID).size()==0) {
+    public synchronized void getAllMessages(String userID) {
+        List<Message> messageList = this.getMailbox(userID).getMessageList();
+        if (messageList.isEmpty()) {
             eView.callView().noMessagesMessageList();
+            return;
         }
-        for (Message m: this.getAllMessagesByRecipient(userID)) {
-            view.print(m.toString());
-        }
-    }
-
-    /**
-     * Returns a list of messages received by the recipient that is appended individually if the message in message list
-     * has user id equal to the recipient id.
-     * @param recipID id of the recipient.
-     * @return a list of messages received by the recipient that is appended individually if the message in message list
-     * has user id equal to the recipient id.
-     */
-    private List<Message> getInboxMessagesByRecipient(String recipID) {
-        List<Message> inboxMessagesByRecipient = new ArrayList<>();
-
-        for (Message m: this.getInboxList()) {
-            if (m.getReceiverUserID().equals(recipID)) {
-                inboxMessagesByRecipient.add(m);
-            }
-        }
-
-        return inboxMessagesByRecipient;
+        this.printMessages(messageList);
     }
 
-    public void getInbox(String userID) {
-        if (this.getInboxMessagesByRecipient(userID).size()==0) {
+    public synchronized void getInbox(String userID) {
+        Collection<Message> inbox = this.getMailbox(userID).getFolder(MessageState.INBOX);
+        if (inbox.isEmpty()) {
             eView.callView().noMessagesInbox();
+            return;
         }
-        for (Message m: this.getInboxMessagesByRecipient(userID)) {
-            view.print(m.toString());
-        }
+        this.printMessages(inbox);
     }
 
-    private List<Message> getTrashMessagesByRecipient(String recipID) {
-        List<Message> trashByRecipient = new ArrayList<>();
-        for (Message m: this.getTrashList()) {
-            if (m.getReceiverUserID().equals(recipID)) {
-                trashByRecipient.add(m);
-            }
+    public synchronized void getTrash(String userID) {
+        Collection<Message> trash = this.getMailbox(userID).getFolder(MessageState.TRASH);
+        if (trash.isEmpty()) {
+            eView.callView().noMessagesTrash();
+            return;
         }
-
-        return trashByRecipient;
+        this.printMessages(trash);
     }
 
-    public void getTrash(String userID) {
-
-        if(this.getTrashMessagesByRecipient(userID).size()==0) {
-            eView.callView().noMessagesTrash();
-        }
-        for (Message m: this.getTrashMessagesByRecipient(userID)) {
-            view.print(m.toString());
+    /**
+     * Prints one row per message through the view's printList, so a long listing is a single write and obeys the
+     * view's row limit.
+     */
+    private void printMessages(Collection<Message> messages) {
+        List<String> rows = new ArrayList<>(messages.size());
+        for (Message m : messages) {
+            rows.add(m.toString());
         }
+        view.printList(rows);
     }
 
     /**
@@ -286,29 +425,30 @@ public class Messenger extends Usecase implements Serializable {
      * @return a list of messages sent by the sender that is appended individually if the message in message list has
      * user id equal to the sender id.
      */
-    public List<Message> getMessageBySender(String senderID) {
+    public synchronized List<Message> getMessageBySender(String senderID) {
         List<Message> messagesBySender = this.getMessageBySenderNoPrint(senderID);
-        for (Message m: messagesBySender) {
-            view.print(m.toString());
-        }
+        this.printMessages(messagesBySender);
         return messagesBySender;
     }
 
     private List<Message> getMessageBySenderNoPrint(String senderID){
         List<Message> messagesBySender = new ArrayList<>();
-        for (Message m: this.getMessageList()) {
-            if (m.getSenderUserID().equals(senderID)) {
+        for (Message m: this.messages.values()) {
+            if (m.getSenderUserID().equals(senderID) && this.states.get(m.getMessageID()) != MessageState.TRASH) {
                 messagesBySender.add(m);
             }
         }
+        messagesBySender.sort(Mailbox.BY_SEND_TIME);
         return messagesBySender;
     }
 
-    public void getConversation(String senderID, String recipID) {
-        for (Message m: this.getMessageBySenderNoPrint(senderID)) {
-            if (m.getReceiverUserID().equals(recipID)) {
-                view.print(m.toString());
+    public synchronized void getConversation(String senderID, String recipID) {
+        List<Message> conversation = new ArrayList<>();
+        for (Message m: this.getMailbox(recipID).getMessageList()) {
+            if (m.getSenderUserID().equals(senderID)) {
+                conversation.add(m);
             }
         }
+        this.printMessages(conversation);
     }
 }
@@ -0,0 +1,12 @@
+package conferencesim.usecases;
+
+import conferencesim.entities.requestpack.Request;
+
+/**
+ * Receives every change UserRequestsHelper makes to requests, as it happens, so the changes can be persisted one at a
+ * time.
+ */
+public interface RequestJournal {
+    void requestAdded(Request request);
+    void requestStatusChanged(String requestID, String status);
+}
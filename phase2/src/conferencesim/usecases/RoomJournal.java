@@ -0,0 +1,11 @@
+package conferencesim.usecases;
+
+import conferencesim.entities.eventpack.Room;
+
+/**
+ * Receives every change RoomManager makes to its rooms, as it happens, so the changes can be persisted one at a time.
+ */
+public interface RoomJournal {
+    void roomAdded(Room room);
+    void roomRemoved(String roomName);
+}
@@ -1,34 +1,64 @@
 package conferencesim.usecases;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import conferencesim.entities.eventpack.Room;
-import conferencesim.entities.eventpack.Court;
-import conferencesim.entities.eventpack.Auditorium;
-import conferencesim.entities.eventpack.Classroom;
 import conferencesim.entities.eventpack.roomBuilder;
-import conferencesim.gateways.EventGateway;
 
 public class RoomManager extends Usecase implements Serializable {
+    private static final long serialVersionUID = -5776663827027445277L;
 
+    // guarded by this; rooms is also read without it
     private List<Room> roomList;
-    private RoomUpdater ru_obj = new EventGateway().loadFile();
+    // roomList by name, capacity and technology, shared with the EventManager; rebuilt after deserialization
+    private transient RoomRegistry rooms;
+    // set once the EventManager is loaded, see setRoomUpdater; never saved, the loader wires it up again
+    private transient RoomUpdater ru_obj;
+    // told about every change so it can be persisted, null if nothing is listening
+    private transient RoomJournal journal;
 
     /**
      * Constructs an empty RoomManager and instantiates the roomList
      */
-    public RoomManager() { this.roomList = new ArrayList<>(); }
+    public RoomManager() {
+        this.roomList = new ArrayList<>();
+        this.rooms = new RoomRegistry(this.roomList);
+    }
+
+    /**
+     * Constructs a RoomManager holding previously added rooms
+     * @param roomList rooms to manage
+     */
+    public RoomManager(List<Room> roomList) {
+        this.roomList = roomList;
+        this.rooms = new RoomRegistry(roomList);
+    }
 
-    public void setRoomUpdater(EventManager em) {
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.rooms = new RoomRegistry(this.roomList);
+    }
+
+    public synchronized void setRoomUpdater(EventManager em) {
         this.ru_obj = em;
+        em.setRoomRegistry(this.rooms);
+    }
+
+    /**
+     * Sets the journal that is told about every change from now on.
+     * @param journal journal to notify, or null to stop journaling
+     */
+    public void setRoomJournal(RoomJournal journal) {
+        this.journal = journal;
     }
 
     /**
-     * @return the entire rooms list
+     * @return the entire rooms list, not a copy; hold this manager's lock while using it
      */
     public List<Room> getAllRooms() {
         return this.roomList;
@@ -39,11 +69,7 @@ public class RoomManager extends Usecase implements Serializable {
      * @return the room object (if one exists with that name) or else, null
      */
     public Room getRoomByName(String roomName) {
-        for (Room r: this.roomList){
-            if (r.getRoomName().equals(roomName)){
-                return r; }
-        }
-        return null;
+        return this.rooms.get(roomName);
     }
 
     /**
@@ -54,13 +80,11 @@ public class RoomManager extends Usecase implements Serializable {
      * @return true if the room is created successfully, false otherwise
      */
 
-    public boolean addRoom(String roomName, int capacity, String kind){
+    public synchronized boolean addRoom(String roomName, int capacity, String kind){
 
-        for (Room r: this.roomList){
-            if(r.getRoomName().equals(roomName)){
-                eView.callView().roomAlreadyAdded();
-                return false;
-            }
+        if (this.rooms.contains(roomName)) {
+            eView.callView().roomAlreadyAdded();
+            return false;
         }
 
         if(!(kind.equalsIgnoreCase(("Auditorium")) || kind.equalsIgnoreCase(("Classroom"))|| kind.equalsIgnoreCase(("Court")))){
@@ -70,7 +94,10 @@ public class RoomManager extends Usecase implements Serializable {
 
         Room toAdd = new roomBuilder().setCapacity(capacity).setRoomName(roomName).setRoomKind(kind).buildRoom();
         this.roomList.add(toAdd);
-        ru_obj.updateRoom(toAdd);
+        this.rooms.add(toAdd);
+        if (this.journal != null) {
+            this.journal.roomAdded(toAdd);
+        }
 
         view.callView().print("Successful!");
         return true;
@@ -81,21 +108,47 @@ public class RoomManager extends Usecase implements Serializable {
      * @return true if the room is removed successfully, false otherwise
      */
 
-    public void removeRoom(String roomName){
-    	int sizeBefore = roomList.size();
-        for (Iterator<Room> it = roomList.iterator(); it.hasNext(); ){
-            Room r = it.next();
-        	if (r.getRoomName().equals(roomName)){
-        		ru_obj.removeRoomObs(r);
-                it.remove();
-            }
-        }
-        if (roomList.size() == sizeBefore) {
+    public synchronized boolean removeRoom(String roomName){
+        if (!this.dropRoom(roomName)) {
         	eView.callView().roomDoesNotExist();
+        	return false;
+        }
+        if (this.journal != null) {
+            this.journal.roomRemoved(roomName);
         }
+        return true;
     }
 
-    public void viewAllRooms() {
+    private boolean dropRoom(String roomName) {
+        Room r = this.rooms.get(roomName);
+        if (r == null) {
+            return false;
+        }
+        this.rooms.remove(r);
+        this.roomList.remove(r);
+        return true;
+    }
+
+    /**
+     * Puts a saved room back, replacing any room with the same name, without printing anything or notifying the
+     * journal.
+     * @param room room to restore
+     */
+    public synchronized void restoreRoom(Room room) {
+        this.restoreRoomRemoval(room.getRoomName());
+        this.roomList.add(room);
+        this.rooms.add(room);
+    }
+
+    /**
+     * Drops a restored room without printing anything or notifying the journal.
+     * @param roomName name of the room
+     */
+    public synchronized void restoreRoomRemoval(String roomName) {
+        this.dropRoom(roomName);
+    }
+
+    public synchronized void viewAllRooms() {
 
         List<String> roomList = new ArrayList<>();
 
@@ -106,16 +159,40 @@ public class RoomManager extends Usecase implements Serializable {
     }
 
     public void viewRoomTechnologies(String roomName) {
+        Room r = this.rooms.get(roomName);
+        if (r != null) {
+            view.printList(RoomRegistry.technologiesOf(r));
+        }
+    }
 
-        for(Room r: getAllRooms()){
-            if(r.getRoomName().equals(roomName)){
-
-                if (r instanceof Court){ view.printList(((Court)r).getTechnologies()); }
-
-                if (r instanceof Auditorium){ view.printList(((Auditorium)r).getTechnologies()); }
+    /**
+     * Finds the smallest room with enough seats and the technology asked for that has no event overlapping
+     * [start, end). Only rooms with at least seats seats and the technology are visited, smallest first.
+     * @param seats fewest seats the room needs
+     * @param technology technology the room needs, case insensitive, or null for any room
+     * @param start start of the time slot
+     * @param end end of the time slot
+     * @return the room, or null if no room fits
+     */
+    public Room findRoom(int seats, String technology, LocalDateTime start, LocalDateTime end) {
+        return this.rooms.findSmallest(seats, technology,
+                r -> ru_obj == null || ru_obj.isRoomFree(r.getRoomName(), start, end));
+    }
 
-                if (r instanceof Classroom){ view.printList(((Classroom)r).getTechnologies()); }
-            }
+    /**
+     * Prints the smallest free room with enough seats and the technology, "any" matching every room
+     * @see #findRoom(int, String, LocalDateTime, LocalDateTime)
+     */
+    public void viewFreeRoom(int seats, String technology, LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            view.print("The start time must be before the end time");
+            return;
+        }
+        Room r = this.findRoom(seats, technology.equalsIgnoreCase("any") ? null : technology, start, end);
+        if (r == null) {
+            view.print("No free room has " + seats + " seats and " + technology);
+        } else {
+            view.print("Room name: " + r.getRoomName() + " Capacity: " + r.getCapacity());
         }
     }
 }
\ No newline at end of file
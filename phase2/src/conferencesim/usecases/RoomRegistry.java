@@ -0,0 +1,139 @@
+package conferencesim.usecases;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import conferencesim.entities.eventpack.Auditorium;
+import conferencesim.entities.eventpack.Classroom;
+import conferencesim.entities.eventpack.Court;
+import conferencesim.entities.eventpack.Room;
+
+/**
+ * Rooms by name, by number of seats and by technology. Owned by a RoomManager and shared with its EventManager, so
+ * both look rooms up in the same place. Name lookups are lock free; the capacity and technology indexes are guarded
+ * by this.
+ */
+class RoomRegistry {
+
+    private final Map<String, Room> byName = new ConcurrentHashMap<>();
+    // capacity -> rooms with exactly that many seats, by name
+    private final NavigableMap<Integer, NavigableMap<String, Room>> byCapacity = new TreeMap<>();
+    // lower case technology -> the rooms that have it, indexed like byCapacity
+    private final Map<String, NavigableMap<Integer, NavigableMap<String, Room>>> byTechnology = new HashMap<>();
+
+    RoomRegistry(List<Room> rooms) {
+        for (Room r : rooms) {
+            this.add(r);
+        }
+    }
+
+    /**
+     * @return the technologies a room comes with, empty for a plain Room
+     */
+    static List<String> technologiesOf(Room room) {
+        if (room instanceof Court) {
+            return ((Court) room).getTechnologies();
+        }
+        if (room instanceof Auditorium) {
+            return ((Auditorium) room).getTechnologies();
+        }
+        if (room instanceof Classroom) {
+            return ((Classroom) room).getTechnologies();
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return false if a room with the same name is already registered
+     */
+    synchronized boolean add(Room room) {
+        if (byName.putIfAbsent(room.getRoomName(), room) != null) {
+            return false;
+        }
+        addTo(byCapacity, room);
+        for (String tech : technologiesOf(room)) {
+            addTo(byTechnology.computeIfAbsent(tech.toLowerCase(), t -> new TreeMap<>()), room);
+        }
+        return true;
+    }
+
+    /**
+     * Unregisters a room, unless another room has taken its name since
+     * @return true if the room was registered
+     */
+    synchronized boolean remove(Room room) {
+        if (!byName.remove(room.getRoomName(), room)) {
+            return false;
+        }
+        removeFrom(byCapacity, room);
+        for (String tech : technologiesOf(room)) {
+            NavigableMap<Integer, NavigableMap<String, Room>> having = byTechnology.get(tech.toLowerCase());
+            if (having != null && removeFrom(having, room)) {
+                byTechnology.remove(tech.toLowerCase());
+            }
+        }
+        return true;
+    }
+
+    private static void addTo(NavigableMap<Integer, NavigableMap<String, Room>> index, Room room) {
+        index.computeIfAbsent(room.getCapacity(), c -> new TreeMap<>()).put(room.getRoomName(), room);
+    }
+
+    /**
+     * @return true if the index is empty afterwards
+     */
+    private static boolean removeFrom(NavigableMap<Integer, NavigableMap<String, Room>> index, Room room) {
+        NavigableMap<String, Room> sameSize = index.get(room.getCapacity());
+        if (sameSize != null) {
+            sameSize.remove(room.getRoomName());
+            if (sameSize.isEmpty()) {
+                index.remove(room.getCapacity());
+            }
+        }
+        return index.isEmpty();
+    }
+
+    /**
+     * @return the room with that name, null if there is none
+     */
+    Room get(String roomName) {
+        return byName.get(roomName);
+    }
+
+    boolean contains(String roomName) {
+        return byName.containsKey(roomName);
+    }
+
+    /**
+     * Walks the rooms with at least seats seats and the technology from the smallest up, so rooms without the
+     * technology are never visited.
+     * @param seats fewest seats the room needs
+     * @param technology technology the room needs, case insensitive, or null for any room
+     * @param usable further test a room has to pass, e.g. being free at some time. It runs under this registry's lock
+     * and may take the EventManager's, so the EventManager never calls the locked methods while holding its own.
+     * @return the smallest room that fits, ties going to the first name, or null if none does
+     */
+    synchronized Room findSmallest(int seats, String technology, Predicate<Room> usable) {
+        NavigableMap<Integer, NavigableMap<String, Room>> index = byCapacity;
+        if (technology != null) {
+            index = byTechnology.get(technology.toLowerCase());
+            if (index == null) {
+                return null;
+            }
+        }
+        for (NavigableMap<String, Room> sameSize : index.tailMap(seats, true).values()) {
+            for (Room r : sameSize.values()) {
+                if (usable.test(r)) {
+                    return r;
+                }
+            }
+        }
+        return null;
+    }
+}
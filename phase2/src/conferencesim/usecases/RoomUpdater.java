@@ -1,8 +1,15 @@
 package conferencesim.usecases;
 
+import java.time.LocalDateTime;
+
 import conferencesim.entities.eventpack.Room;
 
 public interface RoomUpdater {
     void updateRoom(Room rm);
     void removeRoomObs (Room rm);
+
+    /**
+     * @return true if no event in the room overlaps [start, end)
+     */
+    boolean isRoomFree(String roomName, LocalDateTime start, LocalDateTime end);
 }
@@ -0,0 +1,40 @@
+package conferencesim.usecases;
+
+import java.util.List;
+
+import conferencesim.entities.userpack.User;
+
+/**
+ * A logged in user, identified by a random token. Each terminal holds its own session and commands act on the session
+ * that issued them, so several users can be logged in to the same UserManager at once.
+ */
+public class Session {
+
+    private final String token;
+    private final User user;
+
+    Session(String token, User user) {
+        this.token = token;
+        this.user = user;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public String getUserID() {
+        return user.getUserID();
+    }
+
+    public String getRole() {
+        return user.getRole();
+    }
+
+    public List<String> getPermissions() {
+        return user.getPermissions();
+    }
+}
@@ -1,14 +1,70 @@
 package conferencesim.usecases;
 
+import java.util.List;
+
+import conferencesim.view.MainView;
+
 public abstract class Usecase {
-    protected Displayable view;
-    protected EDisplayable eView;
+    // Views of the session whose command the current thread is running, see bindViews. The managers are shared by
+    // every session, so which views a manager prints through depends on the thread calling it.
+    private static final ThreadLocal<Displayable> boundView = new ThreadLocal<>();
+    private static final ThreadLocal<EDisplayable> boundEView = new ThreadLocal<>();
+
+    // used on threads that have no views bound
+    private volatile Displayable defaultView;
+    private volatile EDisplayable defaultEView;
+
+    protected final Displayable view = new Displayable() {
+        @Override
+        public MainView callView() {
+            return currentView().callView();
+        }
+
+        @Override
+        public void printList(List<String> stuff) {
+            currentView().printList(stuff);
+        }
+
+        @Override
+        public void print(String s) {
+            currentView().print(s);
+        }
+    };
+    protected final EDisplayable eView = () -> currentEView().callView();
 
     public void setViewCaller(Displayable view) {
-        this.view = view;
+        this.defaultView = view;
     }
     public void seteViewCaller(EDisplayable eView) {
-        this.eView = eView;
+        this.defaultEView = eView;
     }
 
+    /**
+     * Makes every manager print through these views when called from the current thread, until unbindViews is
+     * called on it.
+     * @param view main displayable
+     * @param eView error displayable
+     */
+    public static void bindViews(Displayable view, EDisplayable eView) {
+        boundView.set(view);
+        boundEView.set(eView);
+    }
+
+    /**
+     * Goes back to each manager's own views on the current thread.
+     */
+    public static void unbindViews() {
+        boundView.remove();
+        boundEView.remove();
+    }
+
+    private Displayable currentView() {
+        Displayable bound = boundView.get();
+        return bound != null ? bound : defaultView;
+    }
+
+    private EDisplayable currentEView() {
+        EDisplayable bound = boundEView.get();
+        return bound != null ? bound : defaultEView;
+    }
 }
@@ -0,0 +1,45 @@
+package conferencesim.usecases;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk user import: how many rows became users, and why every other row was rejected.
+ */
+public class UserImportReport {
+
+    private int added;
+    private final List<String> rejected = new ArrayList<>();
+    private long elapsedNanos;
+
+    void addedUsers(int count) {
+        this.added += count;
+    }
+
+    void reject(int lineNo, String reason) {
+        this.rejected.add("line " + lineNo + ": " + reason);
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getAdded() {
+        return added;
+    }
+
+    /**
+     * @return one "line N: reason" entry per rejected row, in file order
+     */
+    public List<String> getRejected() {
+        return rejected;
+    }
+
+    /**
+     * @return one line with the number of users added and rows rejected, and how long the import took
+     */
+    public String getSummary() {
+        return String.format("Imported %d users, rejected %d rows in %.1f ms", added, rejected.size(),
+                elapsedNanos / 1e6);
+    }
+}
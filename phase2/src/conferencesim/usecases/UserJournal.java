@@ -0,0 +1,13 @@
+package conferencesim.usecases;
+
+import conferencesim.entities.userpack.User;
+
+/**
+ * Receives every change UserManager makes to users, as it happens, so the changes can be persisted one at a time.
+ */
+public interface UserJournal {
+    void userAdded(User user);
+    void userDeleted(String userID);
+    void friendAdded(String userID, String friendID);
+    void friendDeleted(String userID, String friendID);
+}
@@ -1,20 +1,53 @@
 package conferencesim.usecases;
 
-import conferencesim.entities.eventpack.Event;
-import conferencesim.entities.eventpack.Room;
 import conferencesim.entities.userpack.*;
 import conferencesim.exceptions.DoesNotMatchException;
 import conferencesim.exceptions.UserNotFoundException;
 
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class UserManager extends Usecase implements Serializable {
+    private static final long serialVersionUID = 4613385281807370134L;
+    private static final SecureRandom TOKENS = new SecureRandom();
 
+    // guarded by this, as are roleIndex and every user's friends set; userIndex is also read without it
     private List<User> userList;
     private User currUser = null;
+    // userID -> user, kept in step with userList; replaced by ensureCapacity, hence volatile
+    private transient volatile Map<String, User> userIndex;
+    // role -> IDs of the users with that role, in registration order
+    private transient Map<String, Set<String>> roleIndex;
+    // entries across every user's friend list, kept in step with them
+    private transient AtomicLong friendLinks;
+    // token -> open session; sessions are opened and closed from any thread
+    private transient Map<String, Session> sessions;
+    // userID -> that user's open session, so each user is logged in at most once
+    private transient Map<String, Session> sessionsByUser;
+    // session of the local console, opened by loginUser
+    private transient volatile Session currSession;
+    // told about every change so it can be persisted, null if nothing is listening
+    private transient UserJournal journal;
 
     /**
      * Creates an empty UserManager.
@@ -23,6 +56,81 @@ public class UserManager extends Usecase implements Serializable {
         userList = new ArrayList<>();
         User admin = new Admin("admin", "8888");
         userList.add(admin);
+        this.rebuildIndexes();
+    }
+
+    /**
+     * Creates a UserManager holding previously registered users.
+     * @param userList users to manage, the default admin included.
+     */
+    public UserManager(List<User> userList) {
+        this.userList = userList;
+        this.rebuildIndexes();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.rebuildIndexes();
+    }
+
+    /**
+     * Rebuilds the lookup indexes from userList. Sessions are not saved, so there are none open afterwards.
+     */
+    private void rebuildIndexes() {
+        this.userIndex = new ConcurrentHashMap<>();
+        this.roleIndex = new HashMap<>();
+        this.friendLinks = new AtomicLong();
+        this.sessions = new ConcurrentHashMap<>();
+        this.sessionsByUser = new ConcurrentHashMap<>();
+        for (User u : this.userList) {
+            this.indexUser(u);
+        }
+    }
+
+    private void indexUser(User user) {
+        this.userIndex.put(user.getUserID(), user);
+        this.roleIndex.computeIfAbsent(user.getRole(), r -> new LinkedHashSet<>()).add(user.getUserID());
+        this.friendLinks.addAndGet(user.getFriends().size());
+    }
+
+    private void unindexUser(User user) {
+        this.userIndex.remove(user.getUserID());
+        Set<String> ids = this.roleIndex.get(user.getRole());
+        if (ids != null) {
+            ids.remove(user.getUserID());
+        }
+        this.friendLinks.addAndGet(-user.getFriends().size());
+    }
+
+    /**
+     * @return number of registered users, the default admin included
+     */
+    public int getUserCount() {
+        return this.userIndex.size();
+    }
+
+    /**
+     * @param role role as returned by User.getRole, e.g. "Speaker"
+     * @return number of users with that role
+     */
+    public synchronized int getRoleCount(String role) {
+        Set<String> ids = this.roleIndex.get(role);
+        return ids == null ? 0 : ids.size();
+    }
+
+    /**
+     * @return number of entries across every user's friend list
+     */
+    public long getFriendLinkCount() {
+        return this.friendLinks.get();
+    }
+
+    /**
+     * Sets the journal that is told about every change from now on.
+     * @param journal journal to notify, or null to stop journaling
+     */
+    public void setUserJournal(UserJournal journal) {
+        this.journal = journal;
     }
 
     /**
@@ -39,16 +147,16 @@ public class UserManager extends Usecase implements Serializable {
      * @return User object if userID is registered, null otherwise
      */
     public User getUserWithID(String userID) {
-        for (User u : userList) {
-            if (userID.equals(u.getUserID())) return u;
+        User u = this.userIndex.get(userID);
+        if (u == null) {
+            eView.callView().UserNotFound();
         }
-        eView.callView().UserNotFound();
-        return null;
+        return u;
     }
 
     /**
      * Get a list of all users registered
-     * @return List object containing user entities
+     * @return List object containing user entities, not a copy; hold this manager's lock while using it
      */
     public List<User> getUserList() {
         return this.userList;
@@ -59,11 +167,16 @@ public class UserManager extends Usecase implements Serializable {
      * @return List object containing user IDs currently registered
      */
     public List<String> getUserIDList() {
+        List<String> userIDs = this.getUserIDListNoPrint();
+        view.printList(userIDs);
+        return userIDs;
+    }
+
+    public synchronized List<String> getUserIDListNoPrint() {
         List<String> userIDs = new ArrayList<>();
         for (User u: this.getUserList()) {
             userIDs.add(u.getUserID());
         }
-        view.printList(userIDs);
         return userIDs;
     }
 
@@ -72,28 +185,32 @@ public class UserManager extends Usecase implements Serializable {
      * @return List object containing speaker IDs currently registered
      */
     public List<String> getAllSpeakerIDs() {
-        List<String> speakerIDs = new ArrayList<>();
-        for (User u: this.getUserList()) {
-            if (u.getRole().equals("Speaker")) {
-                speakerIDs.add(u.getUserID());
-            }
-        }
+        List<String> speakerIDs = this.getAllSpeakerIDsNoPrint();
         view.printList(speakerIDs);
         return speakerIDs;
     }
 
+    public synchronized List<String> getAllSpeakerIDsNoPrint() {
+        return new ArrayList<>(this.getUserIDsWithRole("Speaker"));
+    }
+
+    /**
+     * Get the IDs of every user with a role, in the order they registered
+     * @param role role as returned by User.getRole, e.g. "Speaker"
+     * @return read-only view of the IDs, empty if no user has the role; hold this manager's lock while using it
+     */
+    public synchronized Set<String> getUserIDsWithRole(String role) {
+        Set<String> ids = this.roleIndex.get(role);
+        return ids == null ? Collections.emptySet() : Collections.unmodifiableSet(ids);
+    }
+
     /**
      * Return true if the userID exists in the user list else, return false.
      * @param userID id of the user that is checked.
      * @return true if the userID exists in the user list else, return false.
      */
     public boolean idExists(String userID) {
-        for (User u : userList) {
-            if (userID.equals(u.getUserID())) {
-                return true;
-            }
-        }
-        return false;
+        return this.userIndex.containsKey(userID);
     }
 
     /**
@@ -101,30 +218,163 @@ public class UserManager extends Usecase implements Serializable {
      * as userID else, add the user to the user list and return true.
      * @param userID id of the user to be added to the UM.
      * @param password password of the user to be added to the UM.
+     * @return true if the user was registered
      */
 
 
     //Overloaded method with role input
-    public void registerUser(String userID, String password, String role) {
+    public synchronized boolean registerUser(String userID, String password, String role) {
         if (idExists(userID)) {
             view.print("Register not successful, ID exists.");
-            return;
+            return false;
         }
 
+        User user = createUser(userID, password, role);
+        if (user == null) {
+            view.print("not a valid role...");
+            return false;
+        }
+        this.addUser(user);
+        view.callView().print("Registration complete");
+        return true;
+    }
+
+    /**
+     * @return a new user of the given role, or null if role is not attendee, speaker or organizer
+     */
+    private static User createUser(String userID, String password, String role) {
         if (role.equalsIgnoreCase("attendee")) {
-            User user = new Attendee(userID, password);
-            this.userList.add(user);
-            view.callView().print("Registration complete");
+            return new Attendee(userID, password);
         } else if (role.equalsIgnoreCase("speaker")) {
-            User user = new Speaker(userID, password);
-            this.userList.add(user);
-            view.callView().print("Registration complete");
+            return new Speaker(userID, password);
         } else if (role.equalsIgnoreCase("organizer")) {
-            User user = new Organizer(userID, password);
-            this.userList.add(user);
-            view.callView().print("Registration complete");
-        } else {
-            view.print("not a valid role...");
+            return new Organizer(userID, password);
+        }
+        return null;
+    }
+
+    /**
+     * Registers every user listed in a CSV file and prints one report, instead of a message per user.
+     * @param path file of userID,password,role rows
+     * @return the report, or null if the file could not be read
+     * @see #importUsers(BufferedReader)
+     */
+    public UserImportReport importUsersFromFile(String path) {
+        Path file;
+        try {
+            file = Paths.get(path);
+        } catch (InvalidPathException exc) {
+            eView.callView().fileNotReadable(path);
+            return null;
+        }
+        UserImportReport report;
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            report = this.importUsers(in);
+        } catch (IOException | UncheckedIOException exc) {
+            eView.callView().fileNotReadable(path);
+            return null;
+        }
+        view.printList(report.getRejected());
+        view.print(report.getSummary());
+        return report;
+    }
+
+    /**
+     * Registers every user in a stream of userID,password,role rows without printing anything. Every row is
+     * validated and checked against existing users and earlier rows in one pass; only once the whole stream is read
+     * are the valid rows added, so the user list and index are grown once instead of row by row. Holds this
+     * manager's lock throughout, so no user registered meanwhile can take a userID the stream has. Blank lines,
+     * lines starting with # and a userID,password,role header are skipped.
+     * @param in CSV rows, one user per line
+     * @return how many users were added and why the other rows were rejected
+     */
+    public synchronized UserImportReport importUsers(BufferedReader in) throws IOException {
+        long start = System.nanoTime();
+        UserImportReport report = new UserImportReport();
+        List<User> accepted = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        String line;
+        int lineNo = 0;
+        while ((line = in.readLine()) != null) {
+            lineNo++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#") || line.equalsIgnoreCase("userID,password,role")) {
+                continue;
+            }
+            int first = line.indexOf(',');
+            int second = (first < 0) ? -1 : line.indexOf(',', first + 1);
+            if (second < 0 || line.indexOf(',', second + 1) >= 0) {
+                report.reject(lineNo, "expected userID,password,role");
+                continue;
+            }
+            String userID = line.substring(0, first).trim();
+            String password = line.substring(first + 1, second).trim();
+            if (userID.isEmpty() || userID.contains(" ")) {
+                report.reject(lineNo, "userID must be non-empty and have no spaces");
+                continue;
+            }
+            if (!isLettersAndDigits(password)) {
+                report.reject(lineNo, "password must be letters and digits only");
+                continue;
+            }
+            User user = createUser(userID, password, line.substring(second + 1).trim());
+            if (user == null) {
+                report.reject(lineNo, "role must be attendee, speaker or organizer");
+                continue;
+            }
+            if (this.userIndex.containsKey(userID) || !seen.add(userID)) {
+                report.reject(lineNo, "duplicate userID " + userID);
+                continue;
+            }
+            accepted.add(user);
+        }
+        this.ensureCapacity(accepted.size());
+        for (User user : accepted) {
+            this.addUser(user);
+        }
+        report.addedUsers(accepted.size());
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    /**
+     * @return true if s is non-empty and only ASCII letters and digits, the rule RegisterController applies
+     */
+    private static boolean isLettersAndDigits(String s) {
+        if (s.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Grows the user list and ID index so that another extra users fit without resizing. The caller holds this
+     * manager's lock, so no user is added to the old index after it is copied, and the new index is filled before
+     * the volatile write publishes it to readers that do not take the lock.
+     */
+    private void ensureCapacity(int extra) {
+        int total = this.userList.size() + extra;
+        if (this.userList instanceof ArrayList) {
+            ((ArrayList<User>) this.userList).ensureCapacity(total);
+        }
+        if (extra > this.userIndex.size()) {
+            Map<String, User> index = new ConcurrentHashMap<>((int) (total / 0.75f) + 1);
+            index.putAll(this.userIndex);
+            this.userIndex = index;
+        }
+    }
+
+    private void addUser(User user) {
+        this.userList.add(user);
+        this.indexUser(user);
+        if (this.journal != null) {
+            this.journal.userAdded(user);
         }
     }
 
@@ -136,11 +386,16 @@ public class UserManager extends Usecase implements Serializable {
      * @return true if the user list contains userID hence, logs out the user and remove the user from the user list
      * else, return false.
      */
-    public boolean deleteUser(String userID) {
+    public synchronized boolean deleteUser(String userID) {
         User u = this.getUserWithID(userID);
-        if (this.userList.contains(u)) {
+        if (u != null) {
             this.logoutUser(u);
+            this.dropFromFriends(u);
             this.userList.remove(u);
+            this.unindexUser(u);
+            if (this.journal != null) {
+                this.journal.userDeleted(userID);
+            }
             view.print("User successfully deleted");
             return true;
         } else {
@@ -149,6 +404,23 @@ public class UserManager extends Usecase implements Serializable {
         }
     }
 
+    /**
+     * Takes a user out of the friends list of everyone on theirs, so no friends list still names them once they are
+     * gone.
+     */
+    private void dropFromFriends(User u) {
+        // a copy, as u may be on its own friends list
+        for (String friendID : new ArrayList<>(u.getFriends())) {
+            User friend = this.userIndex.get(friendID);
+            if (friend != null && friend.deleteFriends(u.getUserID())) {
+                this.friendLinks.decrementAndGet();
+                if (this.journal != null) {
+                    this.journal.friendDeleted(friendID, u.getUserID());
+                }
+            }
+        }
+    }
+
     /**
      * Allows the user to log in. Return true if the user enters the correct password and is not already logged it. Then
      * set the current user to be the user and log in status of the user to be true.
@@ -162,12 +434,10 @@ public class UserManager extends Usecase implements Serializable {
         if (u == null) {
             throw new UserNotFoundException();
         }
-        if (!(password.equals(u.getPassword()))) {
-            throw new DoesNotMatchException();
-        }
-        if (!u.getLoggedIn()) {
+        Session session = this.startSession(u, password);
+        if (session != null) {
+            currSession = session;
             currUser = u;
-            u.setLoggedIn(true);
             view.callView().print("Successful!");
             return true;
         }
@@ -175,6 +445,77 @@ public class UserManager extends Usecase implements Serializable {
         return false;
     }
 
+    /**
+     * Logs a user in without printing anything and without making them the console's current user. Safe to call
+     * from any thread.
+     * @param userID id of the user that is used to log in.
+     * @param password of the user that is used to log in.
+     * @return the new session, or null if the user is already logged in
+     */
+    public Session openSession(String userID, String password) throws UserNotFoundException, DoesNotMatchException {
+        User u = this.userIndex.get(userID);
+        if (u == null) {
+            throw new UserNotFoundException();
+        }
+        return this.startSession(u, password);
+    }
+
+    private Session startSession(User u, String password) throws DoesNotMatchException {
+        if (!password.equals(u.getPassword())) {
+            throw new DoesNotMatchException();
+        }
+        byte[] bytes = new byte[16];
+        TOKENS.nextBytes(bytes);
+        StringBuilder token = new StringBuilder(32);
+        for (byte b : bytes) {
+            token.append(String.format("%02x", b));
+        }
+        Session session = new Session(token.toString(), u);
+        if (this.sessionsByUser.putIfAbsent(u.getUserID(), session) != null) {
+            return null;
+        }
+        this.sessions.put(session.getToken(), session);
+        u.setLoggedIn(true);
+        return session;
+    }
+
+    /**
+     * Logs out the user of a session. Safe to call from any thread.
+     * @param session session to close
+     * @return true if the session was open
+     */
+    public boolean closeSession(Session session) {
+        if (session == null || !this.sessionsByUser.remove(session.getUserID(), session)) {
+            return false;
+        }
+        this.sessions.remove(session.getToken());
+        session.getUser().setLoggedIn(false);
+        if (this.currSession == session) {
+            this.currSession = null;
+            this.currUser = null;
+        }
+        return true;
+    }
+
+    /**
+     * @param token token of a session
+     * @return the open session with that token, or null if there is none
+     */
+    public Session getSession(String token) {
+        return token == null ? null : this.sessions.get(token);
+    }
+
+    /**
+     * @return the session of the local console, or null if nobody is logged in there
+     */
+    public Session getCurrSession() {
+        return this.currSession;
+    }
+
+    public int getSessionCount() {
+        return this.sessions.size();
+    }
+
     /**
      * Allows the user to log out. Return true if the user is logged in, then set current user to null and
      * log in status of the user to be false.
@@ -182,14 +523,17 @@ public class UserManager extends Usecase implements Serializable {
      * @return true if the user is logged in, then set current user to null and log in status of the user to be false.
      */
     public void logoutUser(User u) {
-        if (u != null && u.getLoggedIn()) {
-            currUser = null;
-            u.setLoggedIn(false);
+        if (u != null) {
+            this.closeSession(this.sessionsByUser.get(u.getUserID()));
         }
     }
 
     public void viewFriends() {
-        view.printList(this.getCurrUser().getFriends());
+        this.viewFriends(this.getCurrUserID());
+    }
+
+    public synchronized void viewFriends(String userID) {
+        view.printList(new ArrayList<>(this.userIndex.get(userID).getFriends()));
     }
 
     /**
@@ -202,12 +546,23 @@ public class UserManager extends Usecase implements Serializable {
      */
 
     public void addFriend(String userID, String userToAdd) {
+        this.addFriend(userID, userToAdd, userID.equals(this.getCurrUserID()));
+    }
+
+    /**
+     * @param report true to print a confirmation once the friend is added
+     * @see #addFriend(String, String)
+     */
+    public synchronized void addFriend(String userID, String userToAdd, boolean report) {
         User u = getUserWithID(userID);
         if (u == null) {
             view.print("This will probably never get called");
-        } else if (!u.getFriends().contains(userToAdd)) {
-            u.addFriends(userToAdd);
-            if (this.getCurrUserID() == userID) {
+        } else if (u.addFriends(userToAdd)) {
+            this.friendLinks.incrementAndGet();
+            if (this.journal != null) {
+                this.journal.friendAdded(userID, userToAdd);
+            }
+            if (report) {
             	view.print("Successfully added " + userToAdd + " as a friend");
             }
         } else {
@@ -223,12 +578,23 @@ public class UserManager extends Usecase implements Serializable {
      * @return true if user to delete exists and is present in the user's friend list.
      */
     public void deleteUserFriend(String userID, String userToDel) {
+        this.deleteUserFriend(userID, userToDel, userID.equals(this.getCurrUserID()));
+    }
+
+    /**
+     * @param report true to print a confirmation once the friend is removed
+     * @see #deleteUserFriend(String, String)
+     */
+    public synchronized void deleteUserFriend(String userID, String userToDel, boolean report) {
         User u = getUserWithID(userID);
         if (u == null) {
             view.print("this should not be called");
-        } else if (u.getFriends().contains(userToDel)) {
-            u.deleteFriends(userToDel);
-            if (this.getCurrUserID() == userID) {
+        } else if (u.deleteFriends(userToDel)) {
+            this.friendLinks.decrementAndGet();
+            if (this.journal != null) {
+                this.journal.friendDeleted(userID, userToDel);
+            }
+            if (report) {
             	view.print("Deleting " + userToDel + " from your friends list");
             }
         } else {
@@ -236,6 +602,51 @@ public class UserManager extends Usecase implements Serializable {
         }
     }
 
+    /**
+     * Adds the missing side of every friendship only one of the two users lists, as saves made before friendships
+     * went both ways may have, without printing anything. Each side added is journaled like any other friend.
+     * @return number of friends added
+     */
+    public synchronized int makeFriendshipsMutual() {
+        List<String[]> missing = new ArrayList<>();
+        for (User u : this.userList) {
+            for (String friendID : u.getFriends()) {
+                User friend = this.userIndex.get(friendID);
+                if (friend != null && !friend.getFriends().contains(u.getUserID())) {
+                    missing.add(new String[]{friendID, u.getUserID()});
+                }
+            }
+        }
+        for (String[] side : missing) {
+            if (this.userIndex.get(side[0]).addFriends(side[1])) {
+                this.friendLinks.incrementAndGet();
+                if (this.journal != null) {
+                    this.journal.friendAdded(side[0], side[1]);
+                }
+            }
+        }
+        return missing.size();
+    }
+
+    /**
+     * Looks a user's friends up without printing anything, e.g. for queries over the friend graph.
+     * @param userID id of the user
+     * @return read-only view of the user's friends, empty if there is no such user; hold this manager's lock while
+     * using it
+     */
+    public Set<String> getFriendIDs(String userID) {
+        User u = this.userIndex.get(userID);
+        return u == null ? Collections.emptySet() : u.getFriends();
+    }
+
+    /**
+     * @param userID id of a user
+     * @return true if a user with that id is registered
+     */
+    public boolean hasUser(String userID) {
+        return this.userIndex.containsKey(userID);
+    }
+
     /**
      * Gets the role of the current user in this user manager
      * @return current user role if current user is defined, null otherwise
@@ -253,34 +664,42 @@ public class UserManager extends Usecase implements Serializable {
     }
 
     /**
-     * Sign up a user for an event. Return true if the attendee is added to the event.
-     * @param userID of the user that is being signed up for the event.
-     * @param event that the user wants to sign up for.
-     * @return true if the attendee is added to the event.
+     * Puts a saved user back, replacing any user with the same ID, without printing anything or notifying the journal.
+     * @param user user to restore
      */
-    public void userEventSignUp(String userID, Event event, Room room) {
-        if (!event.getAttendees().contains(userID) && room.getCapacity() > event.getEventOccupancy()) {
-            event.addAttendee(userID);
-            view.print("Signup successful");
-        } else {
-            view.print("Signup unsuccessful");
+    public synchronized void restoreUser(User user) {
+        this.restoreUserDeletion(user.getUserID());
+        this.userList.add(user);
+        this.indexUser(user);
+    }
+
+    /**
+     * Drops a restored user without printing anything or notifying the journal.
+     * @param userID id of the user
+     */
+    public synchronized void restoreUserDeletion(String userID) {
+        User u = this.userIndex.get(userID);
+        if (u != null) {
+            this.userList.remove(u);
+            this.unindexUser(u);
         }
     }
 
     /**
-     * Remove a user from an event. Return true if the attendee is removed from the event.
-     * @param userID of the user that is being removed from the event.
-     * @param event that the user wants to be removed from.
-     * @param room current fullness(occupation) of the room should be changed.
-     * @return true if the attendee is removed from the event.
+     * Adds or removes a friend of a restored user without printing anything or notifying the journal.
+     * @param userID id of the user
+     * @param friendID id of the friend
+     * @param friends true to add the friend, false to remove them
      */
-    public boolean userEventCancel(String userID, Event event, Room room) {
-        if (event.getAttendees().contains(userID)) {
-            event.removeAttendee(userID);
-            return true;
-        } else {
-            view.print("Removal unsuccessful");
-            return false;
+    public synchronized void restoreFriend(String userID, String friendID, boolean friends) {
+        User u = this.userIndex.get(userID);
+        if (u == null) {
+            return;
+        }
+        if (friends && u.addFriends(friendID)) {
+            this.friendLinks.incrementAndGet();
+        } else if (!friends && u.deleteFriends(friendID)) {
+            this.friendLinks.decrementAndGet();
         }
     }
 
@@ -289,6 +708,6 @@ public class UserManager extends Usecase implements Serializable {
     }
     
     public boolean getCurrUserLoggedIn() {
-    	return currUser != null && currUser.getLoggedIn();
+    	return currSession != null;
     }
 }
@@ -9,17 +9,48 @@ import conferencesim.entities.requestpack.DietaryRequest;
 import conferencesim.entities.requestpack.Request;
 
 public class UserRequestsHelper extends Usecase implements Serializable {
+    private static final long serialVersionUID = -4027006898585560387L;
+
+    // guarded by this
     private List<Request> requests;
+    // told about every change so it can be persisted, null if nothing is listening
+    private transient RequestJournal journal;
 
     public UserRequestsHelper() {
         this.requests = new ArrayList<Request>();
     }
 
+    public UserRequestsHelper(List<Request> requests) {
+        this.requests = requests;
+    }
+
+    /**
+     * @return the requests themselves, not a copy; hold this manager's lock while using them
+     */
+    public List<Request> getRequests() {
+        return this.requests;
+    }
+
+    /**
+     * Sets the journal that is told about every change from now on.
+     * @param journal journal to notify, or null to stop journaling
+     */
+    public void setRequestJournal(RequestJournal journal) {
+        this.journal = journal;
+    }
+
+    private void storeRequest(Request rq) {
+        this.requests.add(rq);
+        if (this.journal != null) {
+            this.journal.requestAdded(rq);
+        }
+    }
+
     /**
      * adds a request
      */
 
-    public boolean addRequest(String requestID, String UserID, String type) {
+    public synchronized boolean addRequest(String requestID, String UserID, String type) {
         if (type.equals("DietaryRequest")) {
             for (Request r : requests) {
                 if (r.getType().equals(type) && r.getUser().equals(UserID)) {
@@ -28,7 +59,7 @@ public class UserRequestsHelper extends Usecase implements Serializable {
                 }
             }
             Request rq = new DietaryRequest(requestID, UserID);
-            this.requests.add(rq);
+            this.storeRequest(rq);
             view.print("Successful!");
             return true;
 
@@ -40,7 +71,7 @@ public class UserRequestsHelper extends Usecase implements Serializable {
                 }
             }
             Request rq = new AccessibilityRequest(requestID, UserID);
-            this.requests.add(rq);
+            this.storeRequest(rq);
             view.print("Successful!");
             return true;
         }
@@ -48,7 +79,7 @@ public class UserRequestsHelper extends Usecase implements Serializable {
         return false;
     }
 
-    public boolean updateRequest(String requestID, String status){
+    public synchronized boolean updateRequest(String requestID, String status){
         Request request = getRequestByID(requestID);
         if(request==null){
             view.print("No requestID so request was not updated");
@@ -56,17 +87,51 @@ public class UserRequestsHelper extends Usecase implements Serializable {
         }
         if(status.equalsIgnoreCase("Addressed")) {
             view.print("Request updated to addressed");
-            return request.changeStatusAsAddressed();
+            return this.statusChanged(request, request.changeStatusAsAddressed());
         }else if(status.equalsIgnoreCase("Pending")){
             view.print("Request updated to pending");
-            return request.changeStatusAsPending();
+            return this.statusChanged(request, request.changeStatusAsPending());
         }else{
             view.print("Request was not updated");
             return false;
         }
     }
 
-    public void viewRequests(){
+    private boolean statusChanged(Request request, boolean changed) {
+        if (changed && this.journal != null) {
+            this.journal.requestStatusChanged(request.getRequestID(), request.getStatus());
+        }
+        return changed;
+    }
+
+    /**
+     * Puts a saved request back, replacing any request with the same ID, without printing anything or notifying the
+     * journal.
+     * @param request request to restore
+     */
+    public synchronized void restoreRequest(Request request) {
+        this.requests.removeIf(r -> r.getRequestID().equals(request.getRequestID()));
+        this.requests.add(request);
+    }
+
+    /**
+     * Changes the status of a restored request without printing anything or notifying the journal.
+     * @param requestID id of the request
+     * @param status "Addressed" or "Pending"
+     */
+    public synchronized void restoreRequestStatus(String requestID, String status) {
+        for (Request r : this.requests) {
+            if (r.getRequestID().equals(requestID)) {
+                if (status.equalsIgnoreCase("Addressed")) {
+                    r.changeStatusAsAddressed();
+                } else if (status.equalsIgnoreCase("Pending")) {
+                    r.changeStatusAsPending();
+                }
+            }
+        }
+    }
+
+    public synchronized void viewRequests(){
         List<String> requestString = new ArrayList<String>();
         for (Request r:requests){
             requestString.add(r.toString());
@@ -74,7 +139,7 @@ public class UserRequestsHelper extends Usecase implements Serializable {
         view.printList(requestString);
     }
 
-    public Request getRequestByID(String requestID){
+    public synchronized Request getRequestByID(String requestID){
         for(Request r: requests){
             if(r.getRequestID().equals(requestID)) {
                 view.print(r.toString());
@@ -86,7 +151,7 @@ public class UserRequestsHelper extends Usecase implements Serializable {
         return null;
     }
 
-    public void getRequestByUser(String UserID){
+    public synchronized void getRequestByUser(String UserID){
         List<String> userRequest = new ArrayList<String>();
         for(Request r: requests) {
             if (r.getUser().equals(UserID)) {
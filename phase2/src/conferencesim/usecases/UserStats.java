@@ -1,14 +1,17 @@
 package conferencesim.usecases;
 
 import conferencesim.entities.userpack.User;
-import java.util.List;
 
 public class UserStats extends UserManager{
 
-    List<User> userList;
+    UserManager um;
 
-    public UserStats(List<User> userList){
-        this.userList = userList;
+    /**
+     * Creates stats over the users of a UserManager, which keeps the counts up to date
+     * @param um manager whose users to count
+     */
+    public UserStats(UserManager um){
+        this.um = um;
     }
 
     /**
@@ -16,7 +19,7 @@ public class UserStats extends UserManager{
      * @return number of users registered.
      */
     public int usersRegistered() {
-        int size = this.userList.size();
+        int size = um.getUserCount();
         view.print("There are " + size + " users registered");
         return size;
     }
@@ -26,16 +29,9 @@ public class UserStats extends UserManager{
      * @return number of speakers registered.
      */
     public int speakersRegistered(){
-
-        int size = 0;
-
-        for(User u: this.userList){
-            if (u.getRole().equals("Speaker"));
-            size++;
-        }
+        int size = um.getRoleCount("Speaker");
         view.print("There are " + size + " speakers registered");
         return size;
-
     }
 
     /**
@@ -47,5 +43,16 @@ public class UserStats extends UserManager{
         view.print("There are " + u.getFriends().size() + " friends in your friends list");
         return u.getFriends().size();
     }
-}
 
+    /**
+     * Checks how many friends users have altogether and on average
+     * @return number of entries across every user's friends list
+     */
+    public long friendStats() {
+        long links = um.getFriendLinkCount();
+        int users = um.getUserCount();
+        view.print(String.format("There are %d friends listed across %d users, %.2f per user", links, users,
+                users == 0 ? 0.0 : (double) links / users));
+        return links;
+    }
+}
@@ -1,87 +1,119 @@
 package conferencesim.view;
 
+import java.io.PrintStream;
+
 import conferencesim.usecases.EDisplayable;
 
 public class ErrorView implements EDisplayable {
 
+    private PrintStream out = System.out;
+
+    /**
+     * Redirects everything this view prints, e.g. to silence it while running a batch of commands
+     * @param out stream to print to
+     */
+    public void setOutput(PrintStream out) {
+        this.out = out;
+    }
+
 
     //error message for Request Controller
     public void notOrganizer(){
-        System.out.println("A non-organizer cannot add any requests");
+        out.println("A non-organizer cannot add any requests");
     }
 
     //error message for EventManager - AddEvent
     public void addEventsInvalidParameter(){
-        System.out.println("The parameters your entered are not valid. Only enter one of the: SpeakerID or " +
+        out.println("The parameters your entered are not valid. Only enter one of the: SpeakerID or " +
                 "list of speakers");
 
     }
 
 
-    public void unsuccessful(){System.out.println("The action was unsuccessful");}
+    public void unsuccessful(){out.println("The action was unsuccessful");}
     //error for UserManager
     public void UserNotFound(){
-        System.out.println("The userID you entered does not exist");
+        out.println("The userID you entered does not exist");
     }
 
     //error for EventManager
     public void roomDoesNotExist(){
-        System.out.println("The room you entered does not exist");
+        out.println("The room you entered does not exist");
+    }
+
+    //error for EventManager
+    public void eventNotInRoom(String eventID, String roomName){
+        out.println("The event " + eventID + " takes place in " + roomName);
     }
 
     //error for EventManager
     public void eventExists(){
-        System.out.println("The event already exists");
+        out.println("The event already exists");
     }
 
     //error for EventManager
     public void eventDoesNotExist(){
-        System.out.println("The event does not exists");
+        out.println("The event does not exists");
     }
 
     //error for EventManager
     public void eventNotFound(){
-        System.out.println("The event was not found");
+        out.println("The event was not found");
     }
 
     //error for EventManager
     public void eventCoincides(){
-        System.out.println("The event is already happening");
+        out.println("The event is already happening");
     }
 
     //error for EventManager
     public void speakerNotAvailable(){
-        System.out.println("The speaker is not available");
+        out.println("The speaker is not available");
+    }
+
+    //error for EventManager
+    public void speakerNotAvailable(String speakerID, String eventID){
+        out.println("The speaker " + speakerID + " is not available, they are presenting " + eventID);
     }
 
     //error for RoomManager
     public void roomAlreadyAdded(){
-        System.out.println("The room name already exists");
+        out.println("The room name already exists");
     }
 
     //error for Messenger
     public void messageDoesNotExist(){
-        System.out.println("The message does not exists");
+        out.println("The message does not exists");
     }
 
     //error for Messenger
     public void noMessagesInbox(){
-        System.out.println("No messages found in the inbox");
+        out.println("No messages found in the inbox");
     }
 
     //error for Messenger
     public void noMessagesTrash(){
-        System.out.println("No messages found in the trash");
+        out.println("No messages found in the trash");
     }
 
     //error for Messenger
     public void noMessagesMessageList(){
-        System.out.println("No messages found in Message List");
+        out.println("No messages found in Message List");
     }
 
     //error for UserRequestHelper
     public void requestDoesNotExist(){
-        System.out.println("The request with that requestID does not exist");
+        out.println("The request with that requestID does not exist");
+    }
+
+    public void fileNotReadable(String path){
+        out.println("Could not read the file " + path);
+    }
+
+    //error for CommandHelper, when a command throws instead of returning
+    public void commandFailed(String command, Throwable cause){
+        String reason = (cause.getMessage() != null) ? cause.getMessage() : cause.getClass().getSimpleName();
+        out.println("The command " + command + " could not be completed: " + reason);
     }
 
     @Override
@@ -1,5 +1,7 @@
 package conferencesim.view;
 
+import java.io.PrintStream;
+import java.util.Iterator;
 import java.util.List;
 
 import conferencesim.controllers.CommandHelper;
@@ -15,11 +17,22 @@ public class MainView implements Displayable {
     private LoginController lc_inst;
     private String input;
     private boolean running;
+    private PrintStream out = System.out;
+    // most rows printList shows at once, 0 for no limit
+    private int rowLimit = 0;
 
     public MainView(LoginController lc) {
         this.lc_inst = lc;
     }
 
+    /**
+     * Redirects everything this view prints, e.g. to silence it while running a batch of commands
+     * @param out stream to print to
+     */
+    public void setOutput(PrintStream out) {
+        this.out = out;
+    }
+
     public void setCh_inst(CommandHelper ch) {
         this.ch_inst = ch;
     }
@@ -29,17 +42,47 @@ public class MainView implements Displayable {
     }
 
     public void print(String s) {
-        System.out.println(s);
+        out.println(s);
     }
 
+    /**
+     * Prints the rows of stuff, up to the row limit, with a single write instead of one per row
+     * @param stuff rows to print
+     */
     public void printList(List<String> stuff) {
         if (stuff.isEmpty()) {
-            System.out.println("No such objects were found...");
-        } else {
-            for (String s : stuff) {
-                System.out.println(s);
-            }
+            out.println("No such objects were found...");
+            return;
         }
+        int rows = (rowLimit > 0) ? Math.min(rowLimit, stuff.size()) : stuff.size();
+        String sep = System.lineSeparator();
+        int size = 0;
+        Iterator<String> it = stuff.iterator();
+        for (int i = 0; i < rows; i++) {
+            size += it.next().length() + sep.length();
+        }
+        StringBuilder sb = new StringBuilder(size + 80);
+        it = stuff.iterator();
+        for (int i = 0; i < rows; i++) {
+            sb.append(it.next()).append(sep);
+        }
+        if (rows < stuff.size()) {
+            sb.append("... ").append(stuff.size() - rows)
+                    .append(" more (type 'limit <rows>' to change the limit, 'limit 0' to show all)").append(sep);
+        }
+        out.print(sb);
+        out.flush();
+    }
+
+    /**
+     * @param rowLimit most rows printList shows at once, 0 for no limit
+     */
+    public void setRowLimit(int rowLimit) {
+        this.rowLimit = Math.max(0, rowLimit);
+    }
+
+    public int getRowLimit() {
+        return this.rowLimit;
     }
 
     public void injectSelfToUM(MainView mv) {
@@ -47,7 +90,7 @@ public class MainView implements Displayable {
     }
 
     public void successful(){
-        System.out.println("Successfully!");
+        out.println("Successfully!");
     }
 
     public void setRunning(boolean b) {
@@ -59,12 +102,12 @@ public class MainView implements Displayable {
     }
 
     private void promptUserID() {
-        System.out.print("Login ID: ");
+        out.print("Login ID: ");
         this.input = lc_inst.takeUserID();
     }
 
     private void promptPassword() {
-        System.out.print("Password: ");
+        out.print("Password: ");
         this.input = lc_inst.takePassword();
     }
 
@@ -79,7 +122,7 @@ public class MainView implements Displayable {
             } catch (UserNotFoundException unf) {
                 break;
             } catch (DoesNotMatchException dnm) {
-                System.out.println("Wrong Password. \nTry again");
+                out.println("Wrong Password. \nTry again");
                 break;
             }
         }
@@ -88,7 +131,7 @@ public class MainView implements Displayable {
 
     public void logout() {
         boolean confirm = false;
-        System.out.println("Log out? [Y/n]");
+        out.println("Log out? [Y/n]");
         try {
             confirm = ch_inst.confirmationListener();
         } catch (InvalidConfirmationException ice) {
@@ -97,36 +140,51 @@ public class MainView implements Displayable {
         if(confirm) {
             lc_inst.logoutUser();
         } else {
-            System.out.println("Logout cancelled.");
+            out.println("Logout cancelled.");
         }
     }
 
     public void displayStartMenu() {
-        System.out.println("\nConference Simulator 2000. Login or register?");
-        System.out.println("Type q to quit.");
+        out.println("\nConference Simulator 2000. Login or register?");
+        out.println("Type q to quit.");
     }
 
     public String getInput() {
         return this.input;
     }
 
+    private void setLimit(String input) {
+        String[] tokens = input.trim().split(" +");
+        if (tokens.length > 1) {
+            try {
+                setRowLimit(Integer.parseInt(tokens[1]));
+            } catch (NumberFormatException nfe) {
+                out.println("Usage: limit <rows>, where 0 shows all rows");
+                return;
+            }
+        }
+        out.println("Row limit: " + ((rowLimit == 0) ? "none" : String.valueOf(rowLimit)));
+    }
+
     public void displayMenu() {
         this.setRunning(true);
-        System.out.print("> ");
+        out.print("> ");
         input = this.ch_inst.commandListener();
         if (input.equalsIgnoreCase("help")) {
-            System.out.println(ch_inst.getHelp());
+            out.println(ch_inst.getHelp());
         } else if (input.toLowerCase().startsWith("help")) {
-            System.out.println(ch_inst.getHelp(input.split(" ")[1]));
+            out.println(ch_inst.getHelp(input.split(" ")[1]));
         } else if (input.equalsIgnoreCase("logout")) {
             logout();
+        } else if (input.split(" ")[0].equalsIgnoreCase("limit")) {
+            setLimit(input);
         } else if (this.ch_inst.parseCommand(input)) {
         	if (!ch_inst.executeCommand()) {
-        		System.out.println("The command was entered incorrectly.");
-        		System.out.println("Usage: " + ch_inst.getHelp(input.split(" ")[0]));
+        		out.println("The command was entered incorrectly.");
+        		out.println("Usage: " + ch_inst.getHelp(input.split(" ")[0]));
         	}
         } else {
-        	System.out.println("The command does not exist.");
+        	out.println("The command does not exist.");
         }
     }
 